@@ -0,0 +1,34 @@
+-- Moves the marks of every guess from the feedback_marks table into a single
+-- feedback.marks column holding one code per position: C(orrect), P(resent),
+-- A(bsent) or I(nvalid).
+--
+-- feedback_marks has no order column: the rows of a guess were inserted in
+-- position order, so their physical order (ctid) is used as the position.
+-- Does nothing once feedback_marks is gone.
+DO $$
+BEGIN
+    IF to_regclass('feedback_marks') IS NULL THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE feedback ADD COLUMN IF NOT EXISTS marks varchar(255);
+
+    UPDATE feedback
+    SET marks = codes.marks
+    FROM (
+        SELECT feedback_id,
+               string_agg(
+                   CASE marks
+                       WHEN 'CORRECT' THEN 'C'
+                       WHEN 'PRESENT' THEN 'P'
+                       WHEN 'ABSENT' THEN 'A'
+                       ELSE 'I'
+                   END, '' ORDER BY ctid) AS marks
+        FROM feedback_marks
+        GROUP BY feedback_id
+    ) AS codes
+    WHERE feedback.id = codes.feedback_id;
+
+    DROP TABLE feedback_marks;
+END
+$$;
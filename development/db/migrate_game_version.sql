@@ -0,0 +1,4 @@
+-- Adds the optimistic locking version of games. Hibernate cannot add a
+-- NOT NULL column to a table that already has rows, so existing games start
+-- at version 0.
+ALTER TABLE games ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,48 @@
+-- Numbers the guesses of every round in rounds_history, so a new guess adds
+-- its own row instead of rewriting the rows of the guesses before it.
+--
+-- The order of the guesses was never stored: rounds_history has no order
+-- column, and feedback has random ids and no timestamps. Their physical
+-- order (ctid) is the only trace left. Hibernate rewrote all rows of a
+-- round, in order, on every guess, but a vacuum lets later rows reuse
+-- earlier space, which this script cannot tell. Run it on a copy first
+-- (createdb -T lingo lingo_copy) and look at a few long rounds before
+-- running it on the real database.
+--
+-- A round ends with the guess that hits the word, so that guess must come
+-- last. If it does not in any round, the script fails and changes nothing.
+-- The order of the other guesses cannot be checked. Runs after
+-- migrate_feedback_marks.sql. Does nothing once history_order exists.
+DO $$
+DECLARE
+    misordered integer;
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'rounds_history' AND column_name = 'history_order') THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE rounds_history ADD COLUMN history_order integer;
+
+    UPDATE rounds_history
+    SET history_order = numbered.history_order
+    FROM (
+        SELECT ctid,
+               row_number() OVER (PARTITION BY round_id ORDER BY ctid) - 1 AS history_order
+        FROM rounds_history
+    ) AS numbered
+    WHERE rounds_history.ctid = numbered.ctid;
+
+    SELECT COUNT(DISTINCT hit.round_id) INTO misordered
+    FROM rounds_history hit
+    JOIN feedback ON feedback.id = hit.history_id
+    WHERE feedback.marks ~ '^C+$'
+      AND EXISTS (SELECT 1 FROM rounds_history later
+                  WHERE later.round_id = hit.round_id AND later.history_order > hit.history_order);
+
+    IF misordered > 0 THEN
+        RAISE EXCEPTION '% rounds have guesses after the one that hit the word', misordered;
+    END IF;
+
+    ALTER TABLE rounds_history ALTER COLUMN history_order SET NOT NULL;
+END $$;
@@ -0,0 +1,74 @@
+-- Moves the past rounds of every game from the games_past_rounds join table
+-- onto the rounds themselves: past_round_of points to the game and
+-- round_number gives their order, which the history endpoint pages by.
+--
+-- The order of the past rounds was never stored: games_past_rounds has no
+-- order column, and rounds have random ids and no timestamps. Their
+-- physical order (ctid) is the only trace left. It matches the order the
+-- rounds were played as long as Hibernate inserted them in order and the
+-- table never reused space freed by a vacuum, which this script cannot
+-- tell. Run it on a copy first (createdb -T lingo lingo_copy) and look at a
+-- few long games before running it on the real database.
+--
+-- Games whose every won round has a score event (those played since
+-- score_events exists) are checked: the points of their rounds, in the
+-- order given here, must be the points of their score events in the order
+-- they were scored. If any game disagrees, the script fails and changes
+-- nothing. Rounds with equal points, and older games, cannot be checked.
+--
+-- A round that is still current is numbered after the last past round.
+-- Does nothing once games_past_rounds is gone.
+DO $$
+DECLARE
+    misordered integer;
+BEGIN
+    ALTER TABLE rounds ADD COLUMN IF NOT EXISTS round_number integer NOT NULL DEFAULT 0;
+    ALTER TABLE rounds ADD COLUMN IF NOT EXISTS past_round_of uuid REFERENCES games (id);
+
+    IF to_regclass('games_past_rounds') IS NULL THEN
+        RETURN;
+    END IF;
+
+    UPDATE rounds
+    SET past_round_of = numbered.game_id,
+        round_number = numbered.round_number
+    FROM (
+        SELECT game_id,
+               past_rounds_id,
+               row_number() OVER (PARTITION BY game_id ORDER BY ctid) AS round_number
+        FROM games_past_rounds
+    ) AS numbered
+    WHERE rounds.id = numbered.past_rounds_id;
+
+    UPDATE rounds
+    SET round_number = (SELECT COUNT(*) FROM rounds past WHERE past.past_round_of = games.id) + 1
+    FROM games
+    WHERE games.current_round_id = rounds.id;
+
+    IF to_regclass('score_events') IS NOT NULL THEN
+        WITH won AS (
+            SELECT games.id AS game_id, COUNT(*) AS rounds
+            FROM games
+            JOIN rounds ON rounds.past_round_of = games.id OR rounds.id = games.current_round_id
+            WHERE rounds.outcome = 'WON'
+            GROUP BY games.id
+        ), scored AS (
+            SELECT game_id,
+                   points,
+                   row_number() OVER (PARTITION BY game_id ORDER BY scored_at) AS round_number,
+                   COUNT(*) OVER (PARTITION BY game_id) AS rounds
+            FROM score_events
+        )
+        SELECT COUNT(DISTINCT scored.game_id) INTO misordered
+        FROM scored
+        JOIN won ON won.game_id = scored.game_id AND won.rounds = scored.rounds
+        JOIN rounds ON rounds.past_round_of = scored.game_id AND rounds.round_number = scored.round_number
+        WHERE scored.points <> 5 * (rounds.max_attempts - rounds.attempts_used + 1);
+
+        IF misordered > 0 THEN
+            RAISE EXCEPTION '% games have past rounds in a different order than their score events', misordered;
+        END IF;
+    END IF;
+
+    DROP TABLE games_past_rounds;
+END $$;
@@ -0,0 +1,45 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.words.domain.BloomFilter;
+
+public class BloomFilterDictionary implements Dictionary {
+    static final String METRIC = "lingo.dictionary.bloom";
+
+    private final BloomFilter filter;
+    private final Dictionary delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter falsePositives;
+
+    public BloomFilterDictionary(BloomFilter filter, Dictionary delegate, MeterRegistry registry) {
+        this.filter = filter;
+        this.delegate = delegate;
+        this.hits = registry.counter(METRIC, "result", "hit");
+        this.misses = registry.counter(METRIC, "result", "miss");
+        this.falsePositives = registry.counter(METRIC, "result", "false_positive");
+    }
+
+    @Override
+    public boolean exists(String word) {
+        if (word == null || !filter.mightContain(word)) {
+            misses.increment();
+            return false;
+        }
+
+        if (delegate.exists(word)) {
+            hits.increment();
+            return true;
+        }
+
+        falsePositives.increment();
+        return false;
+    }
+
+    @Override
+    public String randomWord(int length) {
+        return delegate.randomWord(length);
+    }
+}
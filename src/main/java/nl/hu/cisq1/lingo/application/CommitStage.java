@@ -0,0 +1,26 @@
+package nl.hu.cisq1.lingo.application;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a command in a transaction and returns its result once the
+ * transaction has committed.
+ *
+ * A command is its logic, which reads what it needs, decides what to change
+ * and hands back the writes that make the change. The writes may share their
+ * transaction with the writes of other callers, so they should fail before
+ * they change anything, and nothing but the writes should change what is
+ * stored.
+ */
+public interface CommitStage {
+    <T> T commit(Supplier<Writes<T>> logic);
+
+    /**
+     * The changes decided on by the logic of a command, which return its
+     * result.
+     */
+    @FunctionalInterface
+    interface Writes<T> {
+        T write();
+    }
+}
@@ -0,0 +1,38 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class CommitStageConfiguration {
+
+    @Bean
+    public CommitStage commitStage(
+            @Value("${lingo.games.group-commit.enabled:false}") boolean groupCommit,
+            @Value("${lingo.games.group-commit.max-wait:5ms}") Duration maxWait,
+            @Value("${lingo.games.group-commit.max-size:64}") int maxSize,
+            @Value("${lingo.games.retry.max-attempts:3}") int maxAttempts,
+            @Value("${lingo.games.retry.backoff:10ms}") Duration backoff,
+            PlatformTransactionManager transactionManager,
+            GameStore gameStore,
+            MeterRegistry meterRegistry) {
+        if (groupCommit && !gameStore.isTransactional()) {
+            // A group that rolls back has its commands run again, which such a store would apply twice
+            throw new IllegalStateException("group commit needs a transactional game store");
+        }
+
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+
+        CommitStage commits = groupCommit
+            ? new GroupCommitStage(transactions, maxWait, maxSize, meterRegistry)
+            : new TransactionalCommitStage(transactions);
+        return new RetryingCommitStage(commits, maxAttempts, backoff, meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.ScoreEvent;
+import nl.hu.cisq1.lingo.domain.Standing;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
+import nl.hu.cisq1.lingo.repository.FetchPlan;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import nl.hu.cisq1.lingo.repository.ScoreEventRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Queries the stored games and score events on every request.
+ */
+public class DatabaseLeaderboard implements Leaderboard {
+    private final GameStore gameStore;
+    private final ScoreEventRepository scoreEvents;
+    private final Clock clock;
+
+    public DatabaseLeaderboard(GameStore gameStore, ScoreEventRepository scoreEvents, Clock clock) {
+        this.gameStore = gameStore;
+        this.scoreEvents = scoreEvents;
+        this.clock = clock;
+    }
+
+    @Override
+    public void update(Game game) {
+        // Games are ranked straight from the database
+    }
+
+    @Override
+    public void update(Game game, ScoreEvent event) {
+        // Games are ranked straight from the database
+    }
+
+    @Override
+    public List<Standing> top(ScoreWindow window, Boolean randomLength) {
+        if (window.isRolling()) {
+            var since = clock.instant().minus(window.getLength());
+            var page = PageRequest.of(0, SIZE);
+            return randomLength == null
+                ? scoreEvents.findTopSince(since, page)
+                : scoreEvents.findTopSince(since, randomLength, page);
+        }
+
+        var games = randomLength == null ? gameStore.findTopScores() : gameStore.findTopScores(randomLength);
+        return games.stream()
+            .map(Standing::of)
+            .toList();
+    }
+
+    @Override
+    public Optional<String> version(ScoreWindow window) {
+        // Rolling windows change as time passes, which no stored version reflects
+        return window.isRolling() ? Optional.empty() : Optional.of(gameStore.scoreVersion());
+    }
+
+    @Override
+    public OptionalInt rankOf(UUID gameId) {
+        return gameStore.findById(gameId, FetchPlan.GAME)
+            .map(game -> OptionalInt.of((int) gameStore.countWithScoreAbove(game.getScore()) + 1))
+            .orElse(OptionalInt.empty());
+    }
+}
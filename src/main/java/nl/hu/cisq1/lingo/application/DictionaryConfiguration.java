@@ -0,0 +1,71 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.words.application.WordService;
+import nl.hu.cisq1.lingo.words.data.MappedLexicon;
+import nl.hu.cisq1.lingo.words.domain.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class DictionaryConfiguration {
+
+    @Bean
+    @Primary
+    public Dictionary dictionary(
+            @Value("${lingo.dictionary.mode:database}") String mode,
+            @Value("${lingo.lexicon.path:development/words/lingo.lex}") Path lexiconPath,
+            @Value("${lingo.dictionary.bloom.enabled:false}") boolean bloomEnabled,
+            @Value("${lingo.dictionary.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            DictionaryService dictionaryService,
+            WordService wordService,
+            MeterRegistry meterRegistry) {
+        if (bloomEnabled && mode.equals("lexicon")) {
+            // The filter holds the words of the database, which the lexicon need not have; it would reject its other words
+            throw new IllegalStateException("the bloom filter cannot be used with the lexicon dictionary");
+        }
+
+        Dictionary dictionary = switch (mode) {
+            case "database" -> dictionaryService;
+            case "memory" -> inMemory(wordService);
+            case "lexicon" -> lexicon(lexiconPath);
+            default -> throw new IllegalStateException("unknown dictionary mode: " + mode);
+        };
+
+        if (bloomEnabled) {
+            return bloomFiltered(dictionary, falsePositiveRate, wordService, meterRegistry);
+        }
+        return dictionary;
+    }
+
+    private Dictionary inMemory(WordService wordService) {
+        var snapshot = wordService.snapshot();
+        log.info("loaded {} words into the in-memory dictionary", snapshot.size());
+        return new InMemoryDictionary(snapshot);
+    }
+
+    private Dictionary lexicon(Path path) {
+        try {
+            log.info("mapping lexicon: {}", path.toAbsolutePath());
+            return new LexiconDictionary(MappedLexicon.open(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot open lexicon " + path, e);
+        }
+    }
+
+    private Dictionary bloomFiltered(Dictionary dictionary, double falsePositiveRate, WordService wordService, MeterRegistry meterRegistry) {
+        var filter = BloomFilter.of(wordService.allWords(), falsePositiveRate);
+        log.info("built bloom filter of {} bits with {} hashes", filter.bitCount(), filter.hashCount());
+        return new BloomFilterDictionary(filter, dictionary, meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package nl.hu.cisq1.lingo.application;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Runs the commands that change a game, such as a guess, and returns their
+ * result.
+ */
+public interface GameExecutor {
+    <T> T execute(UUID gameId, Supplier<T> command);
+}
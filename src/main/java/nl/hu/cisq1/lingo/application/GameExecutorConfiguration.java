@@ -0,0 +1,18 @@
+package nl.hu.cisq1.lingo.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GameExecutorConfiguration {
+
+    @Bean
+    public GameExecutor gameExecutor(@Value("${lingo.games.execution:direct}") String execution) {
+        return switch (execution) {
+            case "direct" -> new DirectGameExecutor();
+            case "mailbox" -> new MailboxGameExecutor();
+            default -> throw new IllegalStateException("unknown game execution: " + execution);
+        };
+    }
+}
@@ -6,7 +6,9 @@ import nl.hu.cisq1.lingo.domain.Round;
 import nl.hu.cisq1.lingo.presentation.dto.response.AttemptResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.FeedbackResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessDeltaResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.RoundHistoryResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.RoundResponse;
 
 import java.util.List;
@@ -39,6 +41,19 @@ public class GameMapper {
         );
     }
 
+    /**
+     * Maps the first rounds up to the limit; any round beyond it means there
+     * is a next page.
+     */
+    public static RoundHistoryResponse toRoundHistoryResponse(List<Round> rounds, int limit) {
+        List<Round> page = rounds.subList(0, Math.min(rounds.size(), limit));
+        Integer next = rounds.size() > limit ? page.get(page.size() - 1).getNumber() : null;
+        return new RoundHistoryResponse(
+            page.stream().map(GameMapper::toRoundResponse).toList(),
+            next
+        );
+    }
+
     public static AttemptResponse toAttemptResponse(Feedback feedback) {
         return new AttemptResponse(
             feedback.getAttempt(),
@@ -61,10 +76,25 @@ public class GameMapper {
 
     }
 
-    public static GuessResponse toGuessResponse(Feedback feedback, Game game) {
-        FeedbackResponse fbr = toFeedbackResponse(feedback);
-        GameResponse gmr = toGameResponse(game);
-        
-        return new GuessResponse(fbr, gmr);
+    public static GuessResponse toGuessResponse(Feedback feedback, GameResponse gameState, String version) {
+        return new GuessResponse(toFeedbackResponse(feedback), gameState, version);
+    }
+
+    /**
+     * Leaves out what a guess did not change: the game id, the word length
+     * and the earlier attempts of the round.
+     */
+    public static GuessDeltaResponse toGuessDeltaResponse(GuessResponse response) {
+        GameResponse game = response.gameState();
+        RoundResponse round = game.currentRound();
+        return new GuessDeltaResponse(
+            response.feedback(),
+            round.hint(),
+            round.attemptsRemaining(),
+            game.state(),
+            game.score(),
+            round.targetWord(),
+            response.version()
+        );
     }
 }
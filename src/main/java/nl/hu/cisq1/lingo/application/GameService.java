@@ -1,26 +1,66 @@
 package nl.hu.cisq1.lingo.application;
 
+import nl.hu.cisq1.lingo.application.CommitStage.Writes;
 import nl.hu.cisq1.lingo.application.exceptions.GameNotFoundException;
+import nl.hu.cisq1.lingo.domain.Dictionary;
 import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.Round;
+import nl.hu.cisq1.lingo.domain.ScoreEvent;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
 import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
 import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.RankResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.RoundHistoryResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.ScoreboardEntry;
-import nl.hu.cisq1.lingo.repository.GameRepository;
+import nl.hu.cisq1.lingo.repository.FetchPlan;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import nl.hu.cisq1.lingo.repository.RecentWrites;
+import nl.hu.cisq1.lingo.repository.ScoreEventRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class GameService {
-    private final GameRepository gameRepository;
-    private final DictionaryService dictionaryService;
-
-    public GameService(GameRepository gameRepository, DictionaryService dictionaryService) {
-        this.gameRepository = gameRepository;
-        this.dictionaryService = dictionaryService;
+    private final GameStore gameStore;
+    private final Dictionary dictionary;
+    private final Leaderboard leaderboard;
+    private final ScoreEventRepository scoreEvents;
+    private final ApplicationEventPublisher events;
+    private final CommitStage commits;
+    private final GameExecutor executor;
+    private final RecentWrites recentWrites;
+    private final GameViews views;
+    private final Clock clock;
+
+    public GameService(
+            GameStore gameStore,
+            Dictionary dictionary,
+            Leaderboard leaderboard,
+            ScoreEventRepository scoreEvents,
+            ApplicationEventPublisher events,
+            CommitStage commits,
+            GameExecutor executor,
+            RecentWrites recentWrites,
+            GameViews views,
+            Clock clock) {
+        this.gameStore = gameStore;
+        this.dictionary = dictionary;
+        this.leaderboard = leaderboard;
+        this.scoreEvents = scoreEvents;
+        this.events = events;
+        this.commits = commits;
+        this.executor = executor;
+        this.recentWrites = recentWrites;
+        this.views = views;
+        this.clock = clock;
     }
 
     @Transactional
@@ -33,68 +73,162 @@ public class GameService {
         Game game = new Game();
         game.setUsername(username);
         game.setRandomLength(randomLength);
-        game.startGame(dictionaryService);
+        game.startGame(dictionary);
+
+        game = gameStore.save(game);
+        recentWrites.written(game.getId());
+        leaderboard.update(game);
+        events.publishEvent(new ScoreChanged(game.getId()));
 
-        game = gameRepository.save(game);
-        return GameMapper.toGameResponse(game);
+        GameResponse response = GameMapper.toGameResponse(game);
+        UUID gameId = game.getId();
+        views.create(response, () -> versionOf(gameId));
+        return response;
     }    
 
-    @Transactional
     public GuessResponse makeGuess(UUID gameId, GuessRequest request) {
-        Game game = findGameById(gameId);
-        String attempt = request.attempt();
-
-        var feedback = game.guess(attempt, dictionaryService);
-        game = gameRepository.save(game);
+        // Guesses are the bulk of all writes, so they may share their commit with other players
+        return executor.execute(gameId, () -> commits.commit(() -> guess(gameId, request)));
+    }
 
-        return GameMapper.toGuessResponse(feedback, game);
+    private Writes<GuessResponse> guess(UUID gameId, GuessRequest request) {
+        Game game = findGameById(gameId, FetchPlan.CURRENT_HISTORY);
+        String attempt = request.attempt();
+        int score = game.getScore();
+
+        var feedback = game.guess(attempt, dictionary);
+        return () -> {
+            Game saved = gameStore.save(game);
+            recentWrites.written(gameId);
+
+            int points = saved.getScore() - score;
+            if (points != 0) {
+                ScoreEvent event = scoreEvents.save(new ScoreEvent(saved, points, Instant.now(clock)));
+                leaderboard.update(saved, event);
+                events.publishEvent(new ScoreChanged(saved.getId()));
+            }
+
+            GameResponse gameState = GameMapper.toGameResponse(saved);
+            String version = versionOf(gameId);
+            views.update(gameState, () -> version);
+            return GameMapper.toGuessResponse(feedback, gameState, version);
+        };
     }
 
-    @Transactional
     public GameResponse startNewRound(UUID gameId) {
         return startNewRound(gameId, false);
     }
 
-    @Transactional
     public GameResponse startNewRound(UUID gameId, boolean randomLength) {
-        Game game = findGameById(gameId);
+        return executor.execute(gameId, () -> commits.commit(() -> newRound(gameId, randomLength)));
+    }
 
-        game.startNewRound(dictionaryService, randomLength);
-        game = gameRepository.save(game);
-        
-        return GameMapper.toGameResponse(game);
+    private Writes<GameResponse> newRound(UUID gameId, boolean randomLength) {
+        // The guesses of the round that ended are not part of the answer
+        Game game = findGameById(gameId, FetchPlan.CURRENT_ROUND);
+
+        game.startNewRound(dictionary, randomLength);
+        return () -> {
+            Game saved = gameStore.save(game);
+            recentWrites.written(gameId);
+
+            return shown(GameMapper.toGameResponse(saved));
+        };
     }
 
     @Transactional(readOnly = true)
     public GameResponse getGame(UUID gameId) {
-        Game game = findGameById(gameId);
-        return GameMapper.toGameResponse(game);
+        // Read-only transactions may be served by a replica, which can miss the latest writes
+        return recentWrites.read(gameId, () -> views.find(gameId)
+            .map(GameView::game)
+            .orElseGet(() -> GameMapper.toGameResponse(findGameById(gameId, FetchPlan.CURRENT_HISTORY))));
+    }
+
+    /**
+     * Shows a game from its view, if it has one, with the version it is
+     * shown with.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GameView> findGameView(UUID gameId) {
+        return recentWrites.read(gameId, () -> views.find(gameId));
+    }
+
+    @Transactional(readOnly = true)
+    public String getGameVersion(UUID gameId) {
+        return recentWrites.read(gameId, () -> versionOf(gameId));
+    }
+
+    @Transactional(readOnly = true)
+    public RoundHistoryResponse getPastRounds(UUID gameId, int after, int limit) {
+        return recentWrites.read(gameId, () -> {
+            // One round more than asked for tells whether there is a next page
+            List<Round> rounds = gameStore.findPastRounds(gameId, after, limit + 1);
+            if (rounds.isEmpty() && gameStore.findVersion(gameId).isEmpty()) {
+                throw new GameNotFoundException("Game not found: " + gameId);
+            }
+            return GameMapper.toRoundHistoryResponse(rounds, limit);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> getScoreboardVersion(ScoreWindow window) {
+        return leaderboard.version(window);
     }
 
-    @Transactional
     public GameResponse forfeitGame(UUID gameId) {
-        Game game = findGameById(gameId);
-        
+        return executor.execute(gameId, () -> commits.commit(() -> forfeit(gameId)));
+    }
+
+    private Writes<GameResponse> forfeit(UUID gameId) {
+        // Forfeiting only looks at the state, but the answer shows the round it ended
+        Game game = findGameById(gameId, FetchPlan.CURRENT_HISTORY);
+
         game.forfeit();
-        gameRepository.save(game);
+        return () -> {
+            Game saved = gameStore.save(game);
+            recentWrites.written(gameId);
 
-        return GameMapper.toGameResponse(game);
+            return shown(GameMapper.toGameResponse(saved));
+        };
     }
 
     @Transactional(readOnly = true)
     public List<ScoreboardEntry> getScoreboard() {
-        return gameRepository.findTop20ByOrderByScoreDesc()
+        return getScoreboard(ScoreWindow.ALL, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScoreboardEntry> getScoreboard(ScoreWindow window, Boolean randomLength) {
+        return leaderboard.top(window, randomLength)
             .stream()
-            .map(game -> new ScoreboardEntry(
-                game.getUsername(), 
-                game.getScore(),
-                game.isRandomLength() ? "Random" : "Sequential"
+            .map(standing -> new ScoreboardEntry(
+                standing.username(), 
+                standing.score(),
+                standing.randomLength() ? "Random" : "Sequential"
             ))
             .toList();
     }
 
-    private Game findGameById(UUID gameId) {
-        return gameRepository.findById(gameId)
+    @Transactional(readOnly = true)
+    public RankResponse getRank(UUID gameId) {
+        int rank = leaderboard.rankOf(gameId)
+            .orElseThrow(() -> new GameNotFoundException("Game not found: " + gameId));
+        return new RankResponse(gameId, rank);
+    }
+
+    private GameResponse shown(GameResponse game) {
+        views.update(game, () -> versionOf(game.id()));
+        return game;
+    }
+
+    private String versionOf(UUID gameId) {
+        // Looked up after the command saved the game, so this is the version it commits
+        return gameStore.findVersion(gameId)
+            .orElseThrow(() -> new GameNotFoundException("Game not found: " + gameId));
+    }
+
+    private Game findGameById(UUID gameId, FetchPlan plan) {
+        return gameStore.findById(gameId, plan)
             .orElseThrow(() -> new GameNotFoundException("Game not found: " + gameId));
     }
 }
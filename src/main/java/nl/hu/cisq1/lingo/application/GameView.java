@@ -0,0 +1,9 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+
+/**
+ * How a game is shown, with a version that changes whenever that does.
+ */
+public record GameView(String version, GameResponse game) {
+}
@@ -0,0 +1,215 @@
+package nl.hu.cisq1.lingo.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+import nl.hu.cisq1.lingo.repository.StoredGameView;
+import nl.hu.cisq1.lingo.repository.StoredGameViewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read model of games: every command renders the game it changed into one
+ * row, so showing a game is a single lookup by id instead of loading the
+ * game and its rounds.
+ *
+ * A view keeps the version the game store gave the game, so a game is
+ * shown with the same version whether it is shown from its view or from
+ * the store, and nothing is rendered or hashed to learn it: a game changed
+ * before views were kept, or kept in another format, has no view and is
+ * rendered from the store until its next change.
+ *
+ * Views are written in the transaction of the command, unless games are
+ * written behind. Then a view is kept in memory once the command commits,
+ * shown from there, and written with the views of other games on every
+ * flush, so a guess does not write the database for its view either.
+ *
+ * Games kept in the journal are never read from the database, so with that
+ * storage no views are kept: a command would otherwise still write the
+ * database for its view, while the journal already shows a game without it.
+ */
+@Component
+@Slf4j
+public class GameViews {
+    static final int FORMAT = 1;
+
+    private final StoredGameViewRepository repository;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate transactions;
+    private final boolean enabled;
+    private final boolean writtenBehind;
+    private final Map<UUID, Unwritten> unwritten = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+
+    public GameViews(
+            StoredGameViewRepository repository,
+            ObjectMapper mapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${lingo.games.views.enabled:true}") boolean enabled,
+            @Value("${lingo.games.storage:tables}") String storage,
+            @Value("${lingo.games.write-behind.enabled:false}") boolean writtenBehind,
+            @Value("${lingo.games.write-behind.flush-interval:1s}") Duration flushInterval) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.enabled = enabled && !storage.equals("journal");
+        this.writtenBehind = this.enabled && writtenBehind;
+
+        if (this.writtenBehind) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "view-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Keeps the view of a game that was just started. The version is only
+     * looked up when views are kept.
+     */
+    public void create(GameResponse game, Supplier<String> version) {
+        if (!enabled) {
+            return;
+        }
+        if (writtenBehind) {
+            stage(game, version.get());
+        } else {
+            repository.save(new StoredGameView(game.id(), FORMAT, version.get(), write(game)));
+        }
+    }
+
+    /**
+     * Replaces the view of a game that was changed. The version is only
+     * looked up when views are kept.
+     */
+    public void update(GameResponse game, Supplier<String> version) {
+        if (!enabled) {
+            return;
+        }
+        if (writtenBehind) {
+            stage(game, version.get());
+        } else {
+            write(game.id(), version.get(), write(game));
+        }
+    }
+
+    public Optional<GameView> find(UUID id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Unwritten kept = unwritten.get(id);
+        if (kept != null) {
+            return Optional.of(kept.view());
+        }
+        return repository.findById(id)
+            .filter(stored -> stored.getFormat() == FORMAT)
+            .map(stored -> new GameView(stored.getVersion(), read(stored)));
+    }
+
+    /**
+     * Writes the views kept in memory in one transaction. Views that change
+     * meanwhile stay kept for the next flush.
+     */
+    public synchronized void flush() {
+        List<Map.Entry<UUID, Unwritten>> batch = List.copyOf(unwritten.entrySet());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactions.executeWithoutResult(status -> batch.forEach(entry ->
+            write(entry.getKey(), entry.getValue().view().version(), entry.getValue().document())));
+        batch.forEach(entry -> unwritten.remove(entry.getKey(), entry.getValue()));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushQuietly();
+    }
+
+    private void stage(GameResponse game, String version) {
+        Unwritten view = new Unwritten(new GameView(version, game), write(game));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Commits of a game follow each other, so the view of the last one is kept
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unwritten.put(game.id(), view);
+                }
+            });
+        } else {
+            unwritten.put(game.id(), view);
+        }
+    }
+
+    private void write(UUID id, String version, String document) {
+        if (repository.update(id, FORMAT, version, document) == 0) {
+            insert(new StoredGameView(id, FORMAT, version, document));
+        }
+    }
+
+    private void insert(StoredGameView view) {
+        // Two first changes of a game can both find no row; the one that
+        // inserts second is retried like any other lost race
+        try {
+            repository.saveAndFlush(view);
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException("view of game " + view.getId() + " was written concurrently", e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("could not write {} game views, retrying with the next flush", unwritten.size(), e);
+        }
+    }
+
+    private GameResponse read(StoredGameView stored) {
+        try {
+            return mapper.readValue(stored.getDocument(), GameResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("unreadable view of game " + stored.getId(), e);
+        }
+    }
+
+    private String write(GameResponse game) {
+        try {
+            return mapper.writeValueAsString(game);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cannot write view of game " + game.id(), e);
+        }
+    }
+
+    /**
+     * A view shown from memory, with the document it is written as.
+     */
+    private record Unwritten(GameView view, String document) {
+    }
+}
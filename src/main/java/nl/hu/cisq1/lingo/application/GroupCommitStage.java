@@ -0,0 +1,197 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Commits the writes of concurrent callers together.
+ *
+ * Every caller runs the logic of its command on its own thread, in a
+ * transaction that is rolled back, so nothing it changed is kept but what
+ * its writes change. Only those writes are handed in. A single thread takes
+ * the first writes waiting, collects whatever else arrives within the
+ * maximum wait, up to the maximum size, and makes them all in one
+ * transaction. Every caller is answered after that commit, so a busy server
+ * pays for one commit per group instead of one per request, while the
+ * logic of all callers still runs in parallel.
+ *
+ * When any of the writes fail, or the transaction can no longer commit, the
+ * group is rolled back and every caller runs its command again in a
+ * transaction of its own, on its own thread, so a failure only reaches the
+ * caller it belongs to. That is only safe when everything the writes change
+ * is undone with the transaction, so group commit needs a game store that
+ * is transactional. An error is not retried: every caller in the group gets
+ * it, and the committer carries on with the next group.
+ *
+ * The size of every group and the time callers wait for their commit are
+ * published as {@value #METRIC}.size and {@value #METRIC}.wait.
+ */
+@Slf4j
+public class GroupCommitStage implements CommitStage, AutoCloseable {
+    static final String METRIC = "lingo.games.group-commit";
+
+    private static final RuntimeException ROLLED_BACK = new IllegalStateException("group rolled back");
+
+    private final TransactionTemplate transactions;
+    private final Duration maxWait;
+    private final int maxSize;
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary sizes;
+    private final Timer waits;
+    private final Thread committer;
+    private volatile boolean closed;
+
+    public GroupCommitStage(TransactionTemplate transactions, Duration maxWait, int maxSize, MeterRegistry registry) {
+        this.transactions = transactions;
+        this.maxWait = maxWait;
+        this.maxSize = maxSize;
+        this.sizes = DistributionSummary.builder(METRIC + ".size")
+            .description("Commands whose writes were committed together")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.waits = Timer.builder(METRIC + ".wait")
+            .description("Time from handing in writes until their group committed")
+            .publishPercentileHistogram()
+            .register(registry);
+
+        this.committer = new Thread(this::run, "group-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    @Override
+    public <T> T commit(Supplier<Writes<T>> logic) {
+        if (closed) {
+            throw new IllegalStateException("group commit is closed");
+        }
+
+        Writes<T> writes = transactions.execute(status -> {
+            status.setRollbackOnly();
+            return logic.get();
+        });
+
+        Pending<T> pending = new Pending<>(writes, System.nanoTime());
+        queue.add(pending);
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() == ROLLED_BACK) {
+                // What the logic read may have been changed by the group, so it is read afresh
+                return transactions.execute(status -> logic.get().write());
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        committer.interrupt();
+        try {
+            committer.join(maxWait.toMillis() + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Pending<?>> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.result.completeExceptionally(new IllegalStateException("group commit is closed")));
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                commit(collect());
+            } catch (InterruptedException e) {
+                return;
+            } catch (Throwable e) {
+                // Errors too, or every later caller would wait for a committer that is gone
+                log.error("group commit failed", e);
+            }
+        }
+    }
+
+    private List<Pending<?>> collect() throws InterruptedException {
+        List<Pending<?>> group = new ArrayList<>();
+        group.add(queue.take());
+
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (group.size() < maxSize) {
+            long remaining = deadline - System.nanoTime();
+            Pending<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+        return group;
+    }
+
+    private void commit(List<Pending<?>> group) {
+        sizes.record(group.size());
+
+        Throwable failure;
+        try {
+            boolean committed = Boolean.TRUE.equals(transactions.execute(status -> {
+                group.forEach(Pending::write);
+                return !status.isRollbackOnly();
+            }));
+            failure = committed ? null : ROLLED_BACK;
+        } catch (Throwable e) {
+            failure = e;
+        }
+
+        if (failure instanceof RuntimeException && group.size() > 1) {
+            log.warn("could not commit a group of {}, committing them one by one", group.size(), failure);
+            failure = ROLLED_BACK;
+        }
+        for (Pending<?> pending : group) {
+            waits.record(System.nanoTime() - pending.handedIn, TimeUnit.NANOSECONDS);
+            pending.complete(failure);
+        }
+    }
+
+    private static final class Pending<T> {
+        private final Writes<T> writes;
+        private final long handedIn;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        private Pending(Writes<T> writes, long handedIn) {
+            this.writes = writes;
+            this.handedIn = handedIn;
+        }
+
+        private void write() {
+            value = writes.write();
+        }
+
+        private void complete(Throwable failure) {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.words.domain.WordSnapshot;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class InMemoryDictionary implements Dictionary {
+    private final WordSnapshot snapshot;
+
+    public InMemoryDictionary(WordSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public boolean exists(String word) {
+        return snapshot.contains(word);
+    }
+
+    @Override
+    public String randomWord(int length) {
+        return snapshot.randomWord(length, ThreadLocalRandom.current());
+    }
+}
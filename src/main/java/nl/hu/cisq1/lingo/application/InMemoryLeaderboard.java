@@ -0,0 +1,194 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.Ranking;
+import nl.hu.cisq1.lingo.domain.RollingScores;
+import nl.hu.cisq1.lingo.domain.ScoreEvent;
+import nl.hu.cisq1.lingo.domain.Standing;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the standings of all games in memory, per mode, updated as games are
+ * saved. Next to the all-time ranking, every rolling window keeps the points
+ * scored within it.
+ *
+ * Inside a transaction an update is only applied once the transaction has
+ * committed, so the board never shows a score that was rolled back.
+ */
+public class InMemoryLeaderboard implements Leaderboard {
+    private final Ranking[] allTime = {new Ranking(), new Ranking()};
+    private final Map<ScoreWindow, RollingScores[]> rolling = new EnumMap<>(ScoreWindow.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong changes = new AtomicLong();
+    private final Clock clock;
+
+    public InMemoryLeaderboard(Collection<Standing> standings, Collection<ScoreEvent> events, Clock clock) {
+        this.clock = clock;
+
+        Instant now = clock.instant();
+        for (ScoreWindow window : ScoreWindow.values()) {
+            if (window.isRolling()) {
+                rolling.put(window, new RollingScores[]{
+                    new RollingScores(window.getBucketSize(), window.getBuckets(), now),
+                    new RollingScores(window.getBucketSize(), window.getBuckets(), now)
+                });
+            }
+        }
+
+        standings.forEach(standing -> allTime[mode(standing.randomLength())].put(standing));
+        events.forEach(this::add);
+    }
+
+    @Override
+    public void update(Game game) {
+        Standing standing = Standing.of(game);
+        afterCommit(() -> allTime[mode(standing.randomLength())].put(standing));
+    }
+
+    @Override
+    public void update(Game game, ScoreEvent event) {
+        Standing standing = Standing.of(game);
+        afterCommit(() -> {
+            advance(clock.instant());
+            allTime[mode(standing.randomLength())].put(standing);
+            add(event);
+        });
+    }
+
+    @Override
+    public List<Standing> top(ScoreWindow window, Boolean randomLength) {
+        Instant now = clock.instant();
+
+        lock.readLock().lock();
+        try {
+            if (isCurrent(now)) {
+                return collect(window, randomLength);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            advance(now);
+            return collect(window, randomLength);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalInt rankOf(UUID gameId) {
+        lock.readLock().lock();
+        try {
+            for (Ranking ranking : allTime) {
+                var standing = ranking.get(gameId);
+                if (standing.isPresent()) {
+                    int score = standing.get().score();
+                    return OptionalInt.of(allTime[0].countAbove(score) + allTime[1].countAbove(score) + 1);
+                }
+            }
+            return OptionalInt.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<String> version(ScoreWindow window) {
+        if (!window.isRolling()) {
+            return Optional.of(String.valueOf(changes.get()));
+        }
+
+        // Rolling boards also change when a bucket expires
+        long bucket = clock.millis() / window.getBucketSize().toMillis();
+        return Optional.of(changes.get() + "." + bucket);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return allTime[0].size() + allTime[1].size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Standing> collect(ScoreWindow window, Boolean randomLength) {
+        if (randomLength != null) {
+            return top(window, mode(randomLength));
+        }
+
+        // Both modes are ranked separately, their boards are merged on the way out
+        return Stream.concat(top(window, 0).stream(), top(window, 1).stream())
+            .sorted(Ranking.ORDER)
+            .limit(SIZE)
+            .toList();
+    }
+
+    private List<Standing> top(ScoreWindow window, int mode) {
+        return window.isRolling()
+            ? rolling.get(window)[mode].top(SIZE)
+            : allTime[mode].top(SIZE);
+    }
+
+    private boolean isCurrent(Instant now) {
+        return rolling.values().stream().allMatch(scores -> scores[0].isCurrent(now) && scores[1].isCurrent(now));
+    }
+
+    private void advance(Instant now) {
+        for (RollingScores[] scores : rolling.values()) {
+            scores[0].advanceTo(now);
+            scores[1].advanceTo(now);
+        }
+    }
+
+    private void add(ScoreEvent event) {
+        for (RollingScores[] scores : rolling.values()) {
+            scores[mode(event.isRandomLength())].add(event.toStanding(), event.getScoredAt());
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                update.run();
+                changes.incrementAndGet();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    private static int mode(boolean randomLength) {
+        return randomLength ? 1 : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.ScoreEvent;
+import nl.hu.cisq1.lingo.domain.Standing;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+public interface Leaderboard {
+    int SIZE = 20;
+
+    void update(Game game);
+
+    void update(Game game, ScoreEvent event);
+
+    /**
+     * Best games within the window, limited to one mode when randomLength is
+     * given. For rolling windows the score is what a game scored in the window.
+     */
+    List<Standing> top(ScoreWindow window, Boolean randomLength);
+
+    OptionalInt rankOf(UUID gameId);
+
+    /**
+     * Changes whenever the board of the window may have changed, if that can
+     * be told without computing the board.
+     */
+    Optional<String> version(ScoreWindow window);
+}
@@ -0,0 +1,46 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import nl.hu.cisq1.lingo.repository.ScoreEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class LeaderboardConfiguration {
+
+    /**
+     * The clock score events are stamped with and score windows are
+     * measured by.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public Leaderboard leaderboard(
+            @Value("${lingo.leaderboard.mode:database}") String mode,
+            GameStore gameStore,
+            ScoreEventRepository scoreEvents,
+            Clock clock) {
+        return switch (mode) {
+            case "database" -> new DatabaseLeaderboard(gameStore, scoreEvents, clock);
+            case "memory" -> inMemory(gameStore, scoreEvents, clock);
+            default -> throw new IllegalStateException("unknown leaderboard mode: " + mode);
+        };
+    }
+
+    private Leaderboard inMemory(GameStore gameStore, ScoreEventRepository scoreEvents, Clock clock) {
+        var events = scoreEvents.findByScoredAtAfter(clock.instant().minus(ScoreWindow.WEEK.getLength()));
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(gameStore.findAllStandings(), events, clock);
+        log.info("loaded {} games and {} recent scores into the in-memory leaderboard", leaderboard.size(), events.size());
+        return leaderboard;
+    }
+}
@@ -0,0 +1,24 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.words.data.MappedLexicon;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class LexiconDictionary implements Dictionary {
+    private final MappedLexicon lexicon;
+
+    public LexiconDictionary(MappedLexicon lexicon) {
+        this.lexicon = lexicon;
+    }
+
+    @Override
+    public boolean exists(String word) {
+        return lexicon.contains(word);
+    }
+
+    @Override
+    public String randomWord(int length) {
+        return lexicon.randomWord(length, ThreadLocalRandom.current());
+    }
+}
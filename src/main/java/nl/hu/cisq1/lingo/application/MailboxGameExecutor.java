@@ -0,0 +1,116 @@
+package nl.hu.cisq1.lingo.application;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Gives every game a mailbox of its own: the commands for a game are queued
+ * and run one after another on a virtual thread, so they never race and
+ * need no locks. Commands for different games run side by side.
+ *
+ * A mailbox exists only while it holds commands. The mailbox and its
+ * pending count are only changed inside a compute on its game id, so a
+ * command handed in while the last one finishes either joins the running
+ * mailbox or starts a new one, never both. A caller gets its result once
+ * its command has left the mailbox.
+ */
+public class MailboxGameExecutor implements GameExecutor, AutoCloseable {
+    private final Map<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static class Mailbox {
+        private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+        // Commands queued or running, only changed inside a compute on the game id
+        private int pending;
+    }
+
+    @Override
+    public <T> T execute(UUID gameId, Supplier<T> command) {
+        Command<T> task = new Command<>(command);
+
+        boolean[] started = {false};
+        Mailbox mailbox = mailboxes.compute(gameId, (id, current) -> {
+            Mailbox next = current == null ? new Mailbox() : current;
+            next.commands.add(task);
+            started[0] = next.pending++ == 0;
+            return next;
+        });
+        if (started[0]) {
+            executor.execute(() -> drain(gameId, mailbox));
+        }
+
+        try {
+            return task.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of games that have commands queued or running.
+     */
+    public int size() {
+        return mailboxes.size();
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private void drain(UUID gameId, Mailbox mailbox) {
+        boolean more = true;
+        while (more) {
+            Command<?> command = mailbox.commands.remove();
+            try {
+                command.run();
+            } finally {
+                // An empty mailbox is removed, so idle games hold nothing
+                more = mailboxes.computeIfPresent(gameId, (id, current) -> --current.pending == 0 ? null : current) != null;
+                command.complete();
+            }
+        }
+    }
+
+    private static final class Command<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private Throwable failure;
+
+        private Command(Supplier<T> work) {
+            this.work = work;
+        }
+
+        private void run() {
+            try {
+                value = work.get();
+            } catch (Throwable e) {
+                // Errors too, or the mailbox would never count this command as done
+                failure = e;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
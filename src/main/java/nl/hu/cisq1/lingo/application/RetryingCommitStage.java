@@ -0,0 +1,77 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a command again when it lost a race: when another request changed the
+ * same game after the command read it, the stores reject the save with an
+ * {@link OptimisticLockingFailureException}. As the logic reads the game
+ * afresh, running it again applies it on top of the other change.
+ *
+ * Between attempts it waits a random time of up to the backoff times the
+ * attempts so far, so racing requests do not collide again. Once all
+ * attempts are used the last failure is thrown.
+ */
+public class RetryingCommitStage implements CommitStage, AutoCloseable {
+    public static final String METRIC = "lingo.games.commit.retries";
+
+    private final CommitStage delegate;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Counter retries;
+
+    public RetryingCommitStage(CommitStage delegate, int maxAttempts, Duration backoff, MeterRegistry registry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("at least one attempt is needed, not " + maxAttempts);
+        }
+
+        this.delegate = delegate;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.retries = Counter.builder(METRIC)
+            .description("Commands run again after a concurrent change of the same game")
+            .register(registry);
+    }
+
+    @Override
+    public <T> T commit(Supplier<Writes<T>> logic) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return delegate.commit(logic);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == maxAttempts) {
+                    throw e;
+                }
+                retries.increment();
+                pause(attempt);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void pause(int attempt) {
+        long limit = backoff.toNanos() * attempt;
+        if (limit <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(limit)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted before running the command again", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package nl.hu.cisq1.lingo.application;
+
+import java.util.UUID;
+
+/**
+ * Published when a game enters the leaderboard or its score changes.
+ */
+public record ScoreChanged(UUID gameId) {
+}
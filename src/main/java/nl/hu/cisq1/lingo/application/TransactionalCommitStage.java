@@ -0,0 +1,21 @@
+package nl.hu.cisq1.lingo.application;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs every command, its logic and its writes, in a transaction of its own.
+ */
+public class TransactionalCommitStage implements CommitStage {
+    private final TransactionTemplate transactions;
+
+    public TransactionalCommitStage(TransactionTemplate transactions) {
+        this.transactions = transactions;
+    }
+
+    @Override
+    public <T> T commit(Supplier<Writes<T>> logic) {
+        return transactions.execute(status -> logic.get().write());
+    }
+}
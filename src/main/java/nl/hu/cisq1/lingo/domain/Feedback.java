@@ -2,16 +2,12 @@ package nl.hu.cisq1.lingo.domain;
 
 import nl.hu.cisq1.lingo.domain.enums.Mark;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.UUID;
 
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Enumerated;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -23,16 +19,19 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class Feedback {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
     
     private String attempt;
     
-    @ElementCollection
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = MarksConverter.class)
     private List<Mark> marks;
 
     private Feedback(String attempt, List<Mark> marks) {
+        this(UUID.randomUUID(), attempt, marks);
+    }
+
+    private Feedback(UUID id, String attempt, List<Mark> marks) {
+        this.id = id;
         this.attempt = attempt;
         this.marks = marks;
     }
@@ -41,8 +40,8 @@ public class Feedback {
         if (marks == null) {
             return false;
         }
-        for (Mark mark : marks) {
-            if (mark != Mark.CORRECT) {
+        for (int i = 0; i < marks.size(); i++) {
+            if (marks.get(i) != Mark.CORRECT) {
                 return false;
             }
         }
@@ -53,7 +52,12 @@ public class Feedback {
         if (marks == null) {
             return false;
         }
-        return !marks.contains(Mark.INVALID);
+        for (int i = 0; i < marks.size(); i++) {
+            if (marks.get(i) == Mark.INVALID) {
+                return false;
+            }
+        }
+        return true;
     }
 
     protected Hint applyTo(Hint prev, String target) {
@@ -63,57 +67,24 @@ public class Feedback {
     public static Feedback of(String attempt, List<Mark> marks) {
         return new Feedback(attempt, marks);
     }
-    public static Feedback correct (String word) {
-        List<Mark> marks = new ArrayList<>();
 
-        for (int i = 0; i < word.length(); i++) {
-            marks.add(Mark.CORRECT);
-        }
-        return new Feedback(word, marks);
+    static Feedback of(UUID id, String attempt, List<Mark> marks) {
+        // Snapshots written before feedback had its own id carry none
+        return new Feedback(id == null ? UUID.randomUUID() : id, attempt, marks);
     }
 
-    public static Feedback invalid(String word) {
-        List<Mark> marks = new ArrayList<>();
+    public static Feedback correct (String word) {
+        return new Feedback(word, Collections.nCopies(word.length(), Mark.CORRECT));
+    }
 
-        for (int i = 0; i < word.length(); i++) {
-            marks.add(Mark.INVALID);
-        }
-        return new Feedback(word, marks);
+    public static Feedback invalid(String word) {
+        return new Feedback(word, Collections.nCopies(word.length(), Mark.INVALID));
     }
 
     public static Feedback generate(String target, String attempt, Dictionary dict) {
         if (!dict.exists(attempt) || target.length() != attempt.length()) {
             return Feedback.invalid(attempt);
         }
-
-        boolean[] used = new boolean[target.length()];
-        List<Mark> marks = new ArrayList<>();
-
-        for (int i = 0; i < target.length(); i++) {
-            marks.add(Mark.ABSENT);
-        }
-
-        for (int i = 0; i < target.length(); i++) {
-            if (attempt.charAt(i) == target.charAt(i)) {
-                used[i] = true;
-                marks.set(i, Mark.CORRECT);
-            }
-        }
-
-        for (int i = 0; i < target.length(); i++) {
-            if (marks.get(i) == Mark.CORRECT) {
-                continue;
-            }
-
-            for (int j = 0; j < target.length(); j++) {
-                if (attempt.charAt(i) == target.charAt(j) && !used[j]) {
-                    marks.set(i, Mark.PRESENT);
-                    used[j] = true;
-                    break;
-                }
-            }
-        }
-
-        return new Feedback(attempt, marks);
+        return new Feedback(attempt, Marks.asList(Marks.score(target, attempt), target.length()));
     }
 }
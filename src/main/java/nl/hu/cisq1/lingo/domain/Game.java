@@ -8,32 +8,54 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.UUID;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.*;
 import lombok.Getter;
 
 @Entity
 @Table(name = "games")
+@NamedEntityGraph(name = Game.WITH_CURRENT_ROUND, attributeNodes = @NamedAttributeNode("currentRound"))
+@NamedEntityGraph(
+    name = Game.WITH_CURRENT_HISTORY,
+    attributeNodes = @NamedAttributeNode(value = "currentRound", subgraph = "history"),
+    subgraphs = @NamedSubgraph(name = "history", attributeNodes = @NamedAttributeNode("history"))
+)
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor
 @Slf4j
 public class Game {
     static final int MAX_ATTEMPTS = 5;
 
+    /** Fetch plan of a game with its current round, but not the guesses in it. */
+    public static final String WITH_CURRENT_ROUND = "Game.withCurrentRound";
+
+    /** Fetch plan of a game with its current round and the guesses in it. */
+    public static final String WITH_CURRENT_HISTORY = "Game.withCurrentHistory";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
@@ -45,10 +67,13 @@ public class Game {
     @Column(nullable = false)
     private GameState state = GameState.NEW;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    // Loaded by the fetch plans that need it, not by every query over games
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Round currentRound;
 
-    @OneToMany(cascade = CascadeType.ALL)
+    // Owned by the rounds, so a round can be added without loading the ones before it
+    @OneToMany(mappedBy = "pastRoundOf", cascade = CascadeType.ALL)
+    @OrderBy("number")
     private List<Round> pastRounds;
 
     private int lastWordLength;
@@ -56,6 +81,32 @@ public class Game {
     @Column(nullable = false)
     private boolean randomLength = false;
 
+    @Version
+    private long version;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private List<GameEvent> changes = new ArrayList<>();
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private int storedScore;
+
+    public Game(UUID id, String username, int score, GameState state, Round currentRound, List<Round> pastRounds, int lastWordLength, boolean randomLength) {
+        this.id = id;
+        this.username = username;
+        this.score = score;
+        this.state = state;
+        this.currentRound = currentRound;
+        this.pastRounds = pastRounds;
+        this.lastWordLength = lastWordLength;
+        this.randomLength = randomLength;
+
+        if (pastRounds != null) {
+            pastRounds.forEach(round -> round.endIn(this));
+        }
+    }
+
     public void setUsername(String username) {
         this.username = username;
     }
@@ -69,10 +120,7 @@ public class Game {
             throw new InvalidActionException("game already started");
         } 
 
-        this.state = GameState.NEW;
-        this.score = 0;
-        this.lastWordLength = 0;
-        this.pastRounds = new ArrayList<>();
+        record(new GameEvent.GameStarted(this.username, this.randomLength));
 
         log.info("started a new game for player: " + this.username);
         this.startNewRound(dictionary);
@@ -91,10 +139,6 @@ public class Game {
             throw new InvalidActionException("round already in progress");
         }
 
-        if (this.currentRound != null && this.currentRound.isOver()) {
-            this.pastRounds.add(this.currentRound);
-        }
-
         int nextWordLength;
         if (randomLength) {
             int[] validLengths = {5, 6, 7};
@@ -110,14 +154,10 @@ public class Game {
         }
 
         String target = dictionary.randomWord(nextWordLength);
-        List<Feedback> history = new ArrayList<>();
-        Hint hint = Hint.initialFor(target);
 
         log.info("word to guess for this round: " + target);
 
-        this.currentRound = new Round(target, MAX_ATTEMPTS,  0, history, RoundOutcome.IN_PROGRESS, hint);
-        this.state = GameState.IN_ROUND;
-        this.lastWordLength = nextWordLength;
+        record(new GameEvent.RoundStarted(UUID.randomUUID(), target, nextWordLength));
     }
 
     public Feedback guess(String attempt, Dictionary dictionary) {
@@ -126,13 +166,8 @@ public class Game {
         }
 
         Feedback feedback = currentRound.guess(attempt, dictionary);
-
-        if (currentRound.getOutcome() == RoundOutcome.WON) {
-            this.score = score + (5 * (currentRound.getAttemptsRemaining() + 1));
-            this.state = GameState.WAITING_FOR_ROUND;
-        } else if (currentRound.getOutcome() == RoundOutcome.LOST) {
-            this.state = GameState.ELIMINATED;
-        }
+        changes.add(new GameEvent.Guessed(feedback.getId(), attempt, feedback.getMarks()));
+        scoreRound();
 
         return feedback;
     }
@@ -142,7 +177,82 @@ public class Game {
             throw new InvalidActionException("cannot forfeit when not in round");
         }
 
-        this.state = GameState.ELIMINATED;
+        record(new GameEvent.Forfeited());
+    }
+
+    /**
+     * Changes the game as the event describes, without checking whether it
+     * was allowed: it already happened.
+     */
+    public void apply(GameEvent event) {
+        switch (event) {
+            case GameEvent.GameStarted started -> {
+                this.username = started.username();
+                this.randomLength = started.randomLength();
+                this.state = GameState.NEW;
+                this.score = 0;
+                this.lastWordLength = 0;
+                this.pastRounds = new ArrayList<>();
+            }
+            case GameEvent.RoundStarted started -> {
+                int number = 1;
+                if (this.currentRound != null) {
+                    number = this.currentRound.getNumber() + 1;
+                    if (this.currentRound.isOver()) {
+                        this.currentRound.endIn(this);
+                        this.pastRounds.add(this.currentRound);
+                    }
+                }
+
+                String target = started.targetWord();
+                this.currentRound = new Round(started.roundId(), target, MAX_ATTEMPTS, 0, RoundOutcome.IN_PROGRESS, new ArrayList<>(), Hint.initialFor(target));
+                this.currentRound.number(number);
+                this.state = GameState.IN_ROUND;
+                this.lastWordLength = started.wordLength();
+            }
+            case GameEvent.Guessed guessed -> {
+                currentRound.record(Feedback.of(guessed.feedbackId(), guessed.attempt(), guessed.marks()));
+                scoreRound();
+            }
+            case GameEvent.Forfeited forfeited -> this.state = GameState.ELIMINATED;
+        }
+    }
+
+    /**
+     * Hands out the events recorded since the last call.
+     */
+    public List<GameEvent> takeChanges() {
+        List<GameEvent> taken = List.copyOf(changes);
+        changes.clear();
+        return taken;
+    }
+
+    /**
+     * Whether the score differs from the one last loaded from or written to the database.
+     */
+    public boolean isScoreChanged() {
+        return score != storedScore;
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void stored() {
+        storedScore = score;
+    }
+
+    private void record(GameEvent event) {
+        apply(event);
+        changes.add(event);
+    }
+
+    private void scoreRound() {
+        if (currentRound.getOutcome() == RoundOutcome.WON) {
+            this.score = score + (5 * (currentRound.getAttemptsRemaining() + 1));
+            this.state = GameState.WAITING_FOR_ROUND;
+        } else if (currentRound.getOutcome() == RoundOutcome.LOST) {
+            this.state = GameState.ELIMINATED;
+        }
     }
 
     protected Hint getCurrentHint() {
@@ -162,4 +272,86 @@ public class Game {
     protected List<Round> getPastRounds() {
         return pastRounds;
     }
+
+    /**
+     * Past rounds numbered after the given one, oldest first. Loads all past
+     * rounds, so stores that can look them up by number should do so instead.
+     */
+    public List<Round> findPastRounds(int after, int limit) {
+        return pastRounds.stream()
+            .filter(round -> round.getNumber() > after)
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Hands out the past rounds and starts a new empty list of them, for
+     * stores that write the past rounds of a copy on their own rather than
+     * with the game.
+     */
+    public List<Round> takePastRounds() {
+        List<Round> taken = pastRounds == null ? List.of() : List.copyOf(pastRounds);
+        pastRounds = new ArrayList<>();
+        return taken;
+    }
+
+    public GameSnapshot toSnapshot() {
+        return toSnapshot(pastRounds == null ? List.of() : pastRounds.stream().map(Round::toSnapshot).toList());
+    }
+
+    /**
+     * A snapshot with the current round but none of the past rounds, which
+     * are not read.
+     */
+    public GameSnapshot toCurrentSnapshot() {
+        return toSnapshot(List.of());
+    }
+
+    public static Game fromSnapshot(GameSnapshot snapshot) {
+        return fromSnapshot(snapshot, 0);
+    }
+
+    /**
+     * Rebuilds a game from a snapshot that only holds the past rounds after
+     * the given number of rounds, which are left out.
+     */
+    public static Game fromSnapshot(GameSnapshot snapshot, int roundsBefore) {
+        List<Round> pastRounds = snapshot.pastRounds().stream().map(Round::fromSnapshot).collect(Collectors.toCollection(ArrayList::new));
+        Round currentRound = snapshot.currentRound() == null ? null : Round.fromSnapshot(snapshot.currentRound());
+
+        // Snapshots keep the rounds in order, so their numbers follow from their place
+        for (int i = 0; i < pastRounds.size(); i++) {
+            pastRounds.get(i).number(roundsBefore + i + 1);
+        }
+        if (currentRound != null) {
+            currentRound.number(roundsBefore + pastRounds.size() + 1);
+        }
+
+        Game game = new Game(
+            snapshot.id(),
+            snapshot.username(),
+            snapshot.score(),
+            snapshot.state(),
+            currentRound,
+            pastRounds,
+            snapshot.lastWordLength(),
+            snapshot.randomLength()
+        );
+        game.version = snapshot.version();
+        return game;
+    }
+
+    private GameSnapshot toSnapshot(List<GameSnapshot.RoundSnapshot> pastRounds) {
+        return new GameSnapshot(
+            id,
+            username,
+            score,
+            state,
+            currentRound == null ? null : currentRound.toSnapshot(),
+            pastRounds,
+            lastWordLength,
+            randomLength,
+            version
+        );
+    }
 }
@@ -0,0 +1,26 @@
+package nl.hu.cisq1.lingo.domain;
+
+import nl.hu.cisq1.lingo.domain.enums.Mark;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Something that happened to a {@link Game}. Events hold the outcome of what
+ * happened, such as the word drawn or the marks of a guess, so applying them
+ * again gives the same game without a dictionary.
+ */
+public sealed interface GameEvent {
+
+    record GameStarted(String username, boolean randomLength) implements GameEvent {
+    }
+
+    record RoundStarted(UUID roundId, String targetWord, int wordLength) implements GameEvent {
+    }
+
+    record Guessed(UUID feedbackId, String attempt, List<Mark> marks) implements GameEvent {
+    }
+
+    record Forfeited() implements GameEvent {
+    }
+}
@@ -0,0 +1,49 @@
+package nl.hu.cisq1.lingo.domain;
+
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.domain.enums.RoundOutcome;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain copy of a {@link Game} and its rounds, for stores that keep the whole
+ * aggregate as one document instead of mapping it to tables.
+ */
+public record GameSnapshot(
+    UUID id,
+    String username,
+    int score,
+    GameState state,
+    RoundSnapshot currentRound,
+    List<RoundSnapshot> pastRounds,
+    int lastWordLength,
+    boolean randomLength,
+    long version
+) {
+    public record RoundSnapshot(
+        UUID id,
+        String targetWord,
+        int maxAttempts,
+        int attemptsUsed,
+        RoundOutcome outcome,
+        String hint,
+        List<FeedbackSnapshot> history
+    ) {
+    }
+
+    public record FeedbackSnapshot(UUID id, String attempt, String marks) {
+    }
+
+    public GameSnapshot withId(UUID id) {
+        return new GameSnapshot(id, username, score, state, currentRound, pastRounds, lastWordLength, randomLength, version);
+    }
+
+    public GameSnapshot withVersion(long version) {
+        return new GameSnapshot(id, username, score, state, currentRound, pastRounds, lastWordLength, randomLength, version);
+    }
+
+    public GameSnapshot withPastRounds(List<RoundSnapshot> pastRounds) {
+        return new GameSnapshot(id, username, score, state, currentRound, pastRounds, lastWordLength, randomLength, version);
+    }
+}
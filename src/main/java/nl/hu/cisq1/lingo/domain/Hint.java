@@ -1,5 +1,6 @@
 package nl.hu.cisq1.lingo.domain;
 
+import java.util.Arrays;
 import java.util.List;
 import nl.hu.cisq1.lingo.domain.enums.Mark;
 import jakarta.persistence.Column;
@@ -17,24 +18,22 @@ public class Hint {
     private String value;
 
     public static Hint initialFor(String word) {
-        String first = String.valueOf(word.charAt(0));
-
-        for (int i = 1; i < word.length(); i++) {
-            first += '.';
-        }
-        return new Hint(first);
+        char[] letters = new char[word.length()];
+        Arrays.fill(letters, '.');
+        letters[0] = word.charAt(0);
+        return new Hint(new String(letters));
     }
 
     public static Hint from(Hint prev, String target, List<Mark> marks) {
-        StringBuilder builder = new StringBuilder();
+        return from(prev, target, Marks.pack(marks));
+    }
+
+    public static Hint from(Hint prev, String target, int marks) {
+        char[] letters = new char[target.length()];
 
-        for (int i = 0; i < target.length(); i++) {
-            if (marks.get(i) == Mark.CORRECT) {
-                builder.append(target.charAt(i));
-            } else {
-                builder.append(prev.getValue().charAt(i));
-            }
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = Marks.get(marks, i) == Mark.CORRECT ? target.charAt(i) : prev.getValue().charAt(i);
         }
-        return new Hint(builder.toString());
+        return new Hint(new String(letters));
     }
 }
@@ -0,0 +1,143 @@
+package nl.hu.cisq1.lingo.domain;
+
+import nl.hu.cisq1.lingo.domain.enums.Mark;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Marks of a guess packed into an int: two bits per position holding the
+ * ordinal of the {@link Mark}, position 0 in the lowest bits.
+ *
+ * Words are limited to {@value #MAX_LENGTH} letters so a letter can occur at
+ * most 15 times, which keeps its count within a four-bit slot.
+ */
+public final class Marks {
+    public static final int MAX_LENGTH = 15;
+
+    private static final Mark[] MARKS = Mark.values();
+    private static final int ALL_ABSENT = 0x55555555;
+
+    private Marks() {
+    }
+
+    public static int score(String target, String attempt) {
+        int length = target.length();
+        if (length > MAX_LENGTH || attempt.length() != length) {
+            throw new IllegalArgumentException("cannot score " + attempt + " against a word of " + length + " letters");
+        }
+
+        // Unmatched letters of the target, counted in 26 four-bit slots: a-m in low, n-z in high
+        long low = 0;
+        long high = 0;
+        int packed = ALL_ABSENT & mask(length);
+        int matched = 0;
+        boolean otherLetters = false;
+
+        for (int i = 0; i < length; i++) {
+            char letter = target.charAt(i);
+            if (attempt.charAt(i) == letter) {
+                packed = with(packed, i, Mark.CORRECT);
+                matched |= 1 << i;
+            } else if (letter >= 'a' && letter <= 'm') {
+                low += 1L << slot(letter - 'a');
+            } else if (letter >= 'n' && letter <= 'z') {
+                high += 1L << slot(letter - 'n');
+            } else {
+                otherLetters = true;
+            }
+        }
+
+        int used = matched;
+        for (int i = 0; i < length; i++) {
+            if ((matched & (1 << i)) != 0) {
+                continue;
+            }
+
+            char letter = attempt.charAt(i);
+            if (letter >= 'a' && letter <= 'm') {
+                long one = 1L << slot(letter - 'a');
+                if ((low & (0xFL * one)) != 0) {
+                    low -= one;
+                    packed = with(packed, i, Mark.PRESENT);
+                }
+            } else if (letter >= 'n' && letter <= 'z') {
+                long one = 1L << slot(letter - 'n');
+                if ((high & (0xFL * one)) != 0) {
+                    high -= one;
+                    packed = with(packed, i, Mark.PRESENT);
+                }
+            } else if (otherLetters) {
+                // Letters outside a-z are rare enough to look up in the target itself
+                for (int j = 0; j < length; j++) {
+                    if ((used & (1 << j)) == 0 && target.charAt(j) == letter) {
+                        used |= 1 << j;
+                        packed = with(packed, i, Mark.PRESENT);
+                        break;
+                    }
+                }
+            }
+        }
+        return packed;
+    }
+
+    public static Mark get(int packed, int position) {
+        return MARKS[(packed >>> (position * 2)) & 0b11];
+    }
+
+    public static int pack(List<Mark> marks) {
+        if (marks instanceof View view) {
+            return view.packed;
+        }
+        if (marks.size() > MAX_LENGTH) {
+            throw new IllegalArgumentException("cannot pack " + marks.size() + " marks");
+        }
+
+        int packed = 0;
+        for (int i = 0; i < marks.size(); i++) {
+            packed = with(packed, i, marks.get(i));
+        }
+        return packed;
+    }
+
+    public static List<Mark> asList(int packed, int length) {
+        return new View(packed & mask(length), length);
+    }
+
+    private static int with(int packed, int position, Mark mark) {
+        int shift = position * 2;
+        return (packed & ~(0b11 << shift)) | (mark.ordinal() << shift);
+    }
+
+    private static int slot(int index) {
+        return index * 4;
+    }
+
+    private static int mask(int length) {
+        return (1 << (length * 2)) - 1;
+    }
+
+    private static final class View extends AbstractList<Mark> implements RandomAccess {
+        private final int packed;
+        private final int length;
+
+        private View(int packed, int length) {
+            this.packed = packed;
+            this.length = length;
+        }
+
+        @Override
+        public Mark get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return Marks.get(packed, index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+}
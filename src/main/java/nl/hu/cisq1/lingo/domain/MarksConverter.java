@@ -0,0 +1,50 @@
+package nl.hu.cisq1.lingo.domain;
+
+import nl.hu.cisq1.lingo.domain.enums.Mark;
+
+import java.util.List;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores the marks of a guess as one code per position, such as "CPAAC".
+ */
+@Converter
+public class MarksConverter implements AttributeConverter<List<Mark>, String> {
+    @Override
+    public String convertToDatabaseColumn(List<Mark> marks) {
+        if (marks == null) {
+            return null;
+        }
+
+        char[] codes = new char[marks.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = switch (marks.get(i)) {
+                case INVALID -> 'I';
+                case ABSENT -> 'A';
+                case PRESENT -> 'P';
+                case CORRECT -> 'C';
+            };
+        }
+        return new String(codes);
+    }
+
+    @Override
+    public List<Mark> convertToEntityAttribute(String codes) {
+        if (codes == null) {
+            return null;
+        }
+
+        Mark[] marks = new Mark[codes.length()];
+        for (int i = 0; i < marks.length; i++) {
+            marks[i] = switch (codes.charAt(i)) {
+                case 'I' -> Mark.INVALID;
+                case 'A' -> Mark.ABSENT;
+                case 'P' -> Mark.PRESENT;
+                case 'C' -> Mark.CORRECT;
+                default -> throw new IllegalStateException("unknown mark code: " + codes.charAt(i));
+            };
+        }
+        return List.of(marks);
+    }
+}
@@ -0,0 +1,108 @@
+package nl.hu.cisq1.lingo.domain;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Standings of all games, ordered by score.
+ *
+ * The ordered set serves the top of the board, while a Fenwick tree counting
+ * the games per score answers the rank of any game in O(log n). Games with the
+ * same score share a rank. Not thread-safe.
+ */
+public final class Ranking {
+    public static final Comparator<Standing> ORDER = Comparator.comparingInt(Standing::score).reversed()
+        .thenComparing(Standing::gameId);
+
+    private final Map<UUID, Standing> standings = new HashMap<>();
+    private final TreeSet<Standing> order = new TreeSet<>(ORDER);
+    private int[] tree = new int[64];
+
+    public void put(Standing standing) {
+        ensureCapacity(standing.score());
+
+        Standing previous = standings.put(standing.gameId(), standing);
+        if (previous != null) {
+            order.remove(previous);
+            add(previous.score(), -1);
+        }
+
+        order.add(standing);
+        add(standing.score(), 1);
+    }
+
+    public void remove(UUID gameId) {
+        Standing previous = standings.remove(gameId);
+        if (previous != null) {
+            order.remove(previous);
+            add(previous.score(), -1);
+        }
+    }
+
+    public Optional<Standing> get(UUID gameId) {
+        return Optional.ofNullable(standings.get(gameId));
+    }
+
+    public List<Standing> top(int limit) {
+        List<Standing> top = new ArrayList<>(Math.min(limit, order.size()));
+        for (Standing standing : order) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(standing);
+        }
+        return top;
+    }
+
+    public OptionalInt rankOf(UUID gameId) {
+        Standing standing = standings.get(gameId);
+        if (standing == null) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(countAbove(standing.score()) + 1);
+    }
+
+    public int countAbove(int score) {
+        return standings.size() - countAtMost(Math.min(score, tree.length - 2));
+    }
+
+    public int size() {
+        return standings.size();
+    }
+
+    // The tree is 1-based: score s is counted at index s + 1
+    private void add(int score, int delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int countAtMost(int score) {
+        int count = 0;
+        for (int i = score + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void ensureCapacity(int score) {
+        if (score < 0) {
+            throw new IllegalArgumentException("negative score: " + score);
+        }
+        if (score + 1 < tree.length) {
+            return;
+        }
+
+        tree = new int[Integer.highestOneBit(score + 1) * 2];
+        for (Standing standing : standings.values()) {
+            add(standing.score(), 1);
+        }
+    }
+}
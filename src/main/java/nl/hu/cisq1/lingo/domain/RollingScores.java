@@ -0,0 +1,83 @@
+package nl.hu.cisq1.lingo.domain;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Points scored per game within a rolling window, kept as a ring of buckets.
+ *
+ * Every bucket holds the points scored per game in its period and the
+ * {@link Ranking} holds the totals over all buckets. Moving the window forward
+ * subtracts the points of the buckets that fall out of it, so the cost of
+ * expiring a bucket depends on the games that scored in it, not on all games.
+ * Not thread-safe.
+ */
+public final class RollingScores {
+    private final long bucketMillis;
+    private final List<Map<UUID, Integer>> buckets;
+    private final Ranking totals = new Ranking();
+    private long current;
+
+    public RollingScores(Duration bucketSize, int buckets, Instant now) {
+        this.bucketMillis = bucketSize.toMillis();
+        this.buckets = Stream.<Map<UUID, Integer>>generate(HashMap::new).limit(buckets).toList();
+        this.current = bucketOf(now);
+    }
+
+    public void add(Standing points, Instant at) {
+        long bucket = Math.min(bucketOf(at), current);
+        if (bucket <= current - buckets.size() || points.score() == 0) {
+            return;
+        }
+
+        buckets.get(slot(bucket)).merge(points.gameId(), points.score(), Integer::sum);
+        int total = totals.get(points.gameId()).map(Standing::score).orElse(0) + points.score();
+        totals.put(new Standing(points.gameId(), points.username(), total, points.randomLength()));
+    }
+
+    public boolean isCurrent(Instant now) {
+        return bucketOf(now) <= current;
+    }
+
+    public void advanceTo(Instant now) {
+        long target = bucketOf(now);
+        long expiring = Math.max(current, target - buckets.size());
+
+        while (expiring < target) {
+            expiring++;
+            expire(buckets.get(slot(expiring)));
+        }
+        current = Math.max(current, target);
+    }
+
+    public List<Standing> top(int limit) {
+        return totals.top(limit);
+    }
+
+    private void expire(Map<UUID, Integer> bucket) {
+        for (Map.Entry<UUID, Integer> points : bucket.entrySet()) {
+            Standing total = totals.get(points.getKey()).orElseThrow();
+            int remaining = total.score() - points.getValue();
+
+            if (remaining == 0) {
+                totals.remove(total.gameId());
+            } else {
+                totals.put(new Standing(total.gameId(), total.username(), remaining, total.randomLength()));
+            }
+        }
+        bucket.clear();
+    }
+
+    private long bucketOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), bucketMillis);
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.size());
+    }
+}
@@ -3,10 +3,12 @@ package nl.hu.cisq1.lingo.domain;
 import nl.hu.cisq1.lingo.domain.enums.RoundOutcome;
 import nl.hu.cisq1.lingo.domain.exceptions.InvalidActionException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.AllArgsConstructor;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.CascadeType;
@@ -15,20 +17,25 @@ import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
-@Table(name = "rounds")
+@Table(name = "rounds", indexes = @Index(columnList = "past_round_of, round_number"))
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Round {
+    private static final MarksConverter MARKS = new MarksConverter();
+
+    // Assigned up front, so a copy of the round can be merged without knowing whether it was stored
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
     private String targetWord;
     private int maxAttempts;
@@ -38,8 +45,22 @@ public class Round {
     @Column(nullable = false)
     private RoundOutcome outcome;
 
+    // Position of the round in its game, counting from 1
+    @Column(name = "round_number")
+    private int number;
+
+    // Set once another round followed, so the history of a game is found from the rounds
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "past_round_of")
+    @Getter(AccessLevel.NONE)
+    private Game pastRoundOf;
+
     public Round(String targetWord, int maxAttempts, int attemptsUsed, List<Feedback> history, RoundOutcome outcome, Hint currentHint) {
-        this.id = null;
+        this(UUID.randomUUID(), targetWord, maxAttempts, attemptsUsed, outcome, history, currentHint);
+    }
+
+    public Round(UUID id, String targetWord, int maxAttempts, int attemptsUsed, RoundOutcome outcome, List<Feedback> history, Hint currentHint) {
+        this.id = id;
         this.targetWord = targetWord;
         this.maxAttempts = maxAttempts;
         this.attemptsUsed = attemptsUsed;
@@ -48,7 +69,11 @@ public class Round {
         this.currentHint = currentHint;
     }
 
+    // Ordered, so a guess adds its own row rather than rewriting those of the guesses before it;
+    // a page of past rounds loads the guesses of all its rounds at once
     @OneToMany(cascade = CascadeType.ALL)
+    @OrderColumn
+    @BatchSize(size = 100)
     private List<Feedback> history;
 
     @Embedded
@@ -60,7 +85,11 @@ public class Round {
         }
 
         Feedback feedback = Feedback.generate(targetWord, attempt, dict);
-        
+        record(feedback);
+        return feedback;
+    }
+
+    void record(Feedback feedback) {
         if (feedback.isGuessValid()) {
             this.currentHint = feedback.applyTo(currentHint, this.targetWord);
         }
@@ -75,8 +104,14 @@ public class Round {
         if (this.attemptsUsed >= this.maxAttempts && !this.isSolved()) {
             this.outcome = RoundOutcome.LOST;
         }
+    }
 
-        return feedback;
+    void number(int number) {
+        this.number = number;
+    }
+
+    void endIn(Game game) {
+        this.pastRoundOf = game;
     }
 
     protected boolean isSolved() {
@@ -99,6 +134,34 @@ public class Round {
         return currentHint;
     }
 
+    GameSnapshot.RoundSnapshot toSnapshot() {
+        return new GameSnapshot.RoundSnapshot(
+            id,
+            targetWord,
+            maxAttempts,
+            attemptsUsed,
+            outcome,
+            currentHint.getValue(),
+            history.stream()
+                .map(feedback -> new GameSnapshot.FeedbackSnapshot(feedback.getId(), feedback.getAttempt(), MARKS.convertToDatabaseColumn(feedback.getMarks())))
+                .toList()
+        );
+    }
+
+    static Round fromSnapshot(GameSnapshot.RoundSnapshot snapshot) {
+        return new Round(
+            snapshot.id(),
+            snapshot.targetWord(),
+            snapshot.maxAttempts(),
+            snapshot.attemptsUsed(),
+            snapshot.outcome(),
+            snapshot.history().stream()
+                .map(feedback -> Feedback.of(feedback.id(), feedback.attempt(), MARKS.convertToEntityAttribute(feedback.marks())))
+                .collect(Collectors.toCollection(ArrayList::new)),
+            new Hint(snapshot.hint())
+        );
+    }
+
     public Optional<String> getTargetWord() {
         return outcome == RoundOutcome.IN_PROGRESS 
             ? Optional.empty() 
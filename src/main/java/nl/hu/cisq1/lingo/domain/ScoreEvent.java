@@ -0,0 +1,50 @@
+package nl.hu.cisq1.lingo.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Points a game scored at a moment in time, the input of the daily and weekly
+ * scoreboards.
+ */
+@Entity
+@Table(name = "score_events", indexes = @Index(columnList = "scoredAt"))
+@Getter
+@NoArgsConstructor
+public class ScoreEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID gameId;
+
+    private String username;
+    private boolean randomLength;
+    private int points;
+
+    @Column(nullable = false)
+    private Instant scoredAt;
+
+    public ScoreEvent(Game game, int points, Instant scoredAt) {
+        this.gameId = game.getId();
+        this.username = game.getUsername();
+        this.randomLength = game.isRandomLength();
+        this.points = points;
+        this.scoredAt = scoredAt;
+    }
+
+    public Standing toStanding() {
+        return new Standing(gameId, username, points, randomLength);
+    }
+}
@@ -0,0 +1,9 @@
+package nl.hu.cisq1.lingo.domain;
+
+import java.util.UUID;
+
+public record Standing(UUID gameId, String username, int score, boolean randomLength) {
+    public static Standing of(Game game) {
+        return new Standing(game.getId(), game.getUsername(), game.getScore(), game.isRandomLength());
+    }
+}
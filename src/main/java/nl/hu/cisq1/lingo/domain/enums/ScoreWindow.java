@@ -0,0 +1,37 @@
+package nl.hu.cisq1.lingo.domain.enums;
+
+import java.time.Duration;
+
+/**
+ * Period a scoreboard covers. Rolling windows are kept as a number of buckets,
+ * so they move forward one bucket at a time.
+ */
+public enum ScoreWindow {
+    DAY(Duration.ofHours(1), 24),
+    WEEK(Duration.ofDays(1), 7),
+    ALL(null, 0);
+
+    private final Duration bucketSize;
+    private final int buckets;
+
+    ScoreWindow(Duration bucketSize, int buckets) {
+        this.bucketSize = bucketSize;
+        this.buckets = buckets;
+    }
+
+    public boolean isRolling() {
+        return bucketSize != null;
+    }
+
+    public Duration getBucketSize() {
+        return bucketSize;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public Duration getLength() {
+        return bucketSize == null ? null : bucketSize.multipliedBy(buckets);
+    }
+}
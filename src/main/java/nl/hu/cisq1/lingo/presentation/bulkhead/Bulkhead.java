@@ -0,0 +1,82 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many requests of one traffic class run at the same time. A
+ * request waits at most the maximum wait for its turn and is rejected
+ * after that, so a flood of one class cannot take the threads and
+ * connections of the others.
+ *
+ * Waits, rejections and requests running are published as
+ * lingo.bulkhead.wait, lingo.bulkhead.rejected and lingo.bulkhead.active,
+ * tagged with the class.
+ */
+public class Bulkhead {
+    public static final String METRIC = "lingo.bulkhead";
+
+    private final TrafficClass trafficClass;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Timer waits;
+    private final Counter rejections;
+
+    public Bulkhead(TrafficClass trafficClass, int maxConcurrent, Duration maxWait, MeterRegistry registry) {
+        this.trafficClass = trafficClass;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        String tag = trafficClass.propertyName();
+        this.waits = Timer.builder(METRIC + ".wait")
+            .description("Time requests waited for their turn")
+            .tag("class", tag)
+            .publishPercentileHistogram()
+            .register(registry);
+        this.rejections = Counter.builder(METRIC + ".rejected")
+            .description("Requests rejected because their class was saturated")
+            .tag("class", tag)
+            .register(registry);
+        Gauge.builder(METRIC + ".active", this, Bulkhead::active)
+            .description("Requests running")
+            .tag("class", tag)
+            .register(registry);
+    }
+
+    /**
+     * Waits for a turn, or throws a {@link BulkheadFullException} when none
+     * comes within the maximum wait. Every turn must be released.
+     */
+    public void acquire() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejections.increment();
+            throw new BulkheadFullException(trafficClass);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
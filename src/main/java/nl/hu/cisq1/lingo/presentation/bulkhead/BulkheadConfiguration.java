@@ -0,0 +1,46 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "lingo.bulkhead.enabled", havingValue = "true")
+public class BulkheadConfiguration {
+
+    @Bean
+    public BulkheadInterceptor bulkheadInterceptor(
+            @Value("${lingo.bulkhead.gameplay.max-concurrent:4}") int gameplay,
+            @Value("${lingo.bulkhead.gameplay.max-wait:1s}") Duration gameplayWait,
+            @Value("${lingo.bulkhead.game-reads.max-concurrent:2}") int gameReads,
+            @Value("${lingo.bulkhead.game-reads.max-wait:100ms}") Duration gameReadsWait,
+            @Value("${lingo.bulkhead.scoreboard.max-concurrent:2}") int scoreboard,
+            @Value("${lingo.bulkhead.scoreboard.max-wait:100ms}") Duration scoreboardWait,
+            @Value("${lingo.bulkhead.words.max-concurrent:2}") int words,
+            @Value("${lingo.bulkhead.words.max-wait:100ms}") Duration wordsWait,
+            MeterRegistry meterRegistry) {
+        return new BulkheadInterceptor(Map.of(
+            TrafficClass.GAMEPLAY, new Bulkhead(TrafficClass.GAMEPLAY, gameplay, gameplayWait, meterRegistry),
+            TrafficClass.GAME_READS, new Bulkhead(TrafficClass.GAME_READS, gameReads, gameReadsWait, meterRegistry),
+            TrafficClass.SCOREBOARD, new Bulkhead(TrafficClass.SCOREBOARD, scoreboard, scoreboardWait, meterRegistry),
+            TrafficClass.WORDS, new Bulkhead(TrafficClass.WORDS, words, wordsWait, meterRegistry)
+        ));
+    }
+
+    @Bean
+    public WebMvcConfigurer bulkheads(BulkheadInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/games", "/games/**", "/words/**");
+            }
+        };
+    }
+}
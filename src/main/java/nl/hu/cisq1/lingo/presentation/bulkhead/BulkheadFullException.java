@@ -0,0 +1,13 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import lombok.Getter;
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+    private final TrafficClass trafficClass;
+
+    public BulkheadFullException(TrafficClass trafficClass) {
+        super("Too many " + trafficClass.propertyName() + " requests, please try again");
+        this.trafficClass = trafficClass;
+    }
+}
@@ -0,0 +1,52 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Holds every request to the bulkhead of its traffic class until it has
+ * been handled. Streams only hold it until they are opened.
+ */
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+    private static final String ACQUIRED = BulkheadInterceptor.class.getName() + ".acquired";
+
+    private final Map<TrafficClass, Bulkhead> bulkheads;
+
+    public BulkheadInterceptor(Map<TrafficClass, Bulkhead> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Finishing a stream dispatches it again, long after it left the bulkhead
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        Bulkhead bulkhead = bulkheads.get(TrafficClass.of(request));
+        bulkhead.acquire();
+        request.setAttribute(ACQUIRED, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private static void release(HttpServletRequest request) {
+        if (request.getAttribute(ACQUIRED) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(ACQUIRED);
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The kinds of requests that get a bulkhead of their own.
+ */
+public enum TrafficClass {
+    GAMEPLAY,
+    GAME_READS,
+    SCOREBOARD,
+    WORDS;
+
+    public static TrafficClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/words")) {
+            return WORDS;
+        }
+        if (path.startsWith("/games/scoreboard")) {
+            return SCOREBOARD;
+        }
+        return "GET".equals(request.getMethod()) ? GAME_READS : GAMEPLAY;
+    }
+
+    public String propertyName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -1,56 +1,128 @@
 package nl.hu.cisq1.lingo.presentation.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import nl.hu.cisq1.lingo.application.GameMapper;
 import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.application.GameView;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
 import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
 import nl.hu.cisq1.lingo.presentation.dto.request.StartGameRequest;
 import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.RankResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.RoundHistoryResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.ScoreboardEntry;
 
+import nl.hu.cisq1.lingo.presentation.idempotency.IdempotencyCache;
+import nl.hu.cisq1.lingo.presentation.ratelimit.RateLimiter;
+import nl.hu.cisq1.lingo.presentation.stream.ScoreboardBroadcaster;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/games")
 public class GameController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RETURN_MINIMAL = "return=minimal";
+    private static final int MAX_ROUNDS_PER_PAGE = 100;
+
     private final GameService service;
+    private final ScoreboardBroadcaster broadcaster;
+    private final IdempotencyCache idempotency;
+    private final RateLimiter userRateLimiter;
 
-    public GameController(GameService service) {
+    public GameController(
+            GameService service,
+            ScoreboardBroadcaster broadcaster,
+            IdempotencyCache idempotency,
+            @Qualifier("userRateLimiter") RateLimiter userRateLimiter) {
         this.service = service;
+        this.broadcaster = broadcaster;
+        this.idempotency = idempotency;
+        this.userRateLimiter = userRateLimiter;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public GameResponse startGame(@RequestBody StartGameRequest request) {
+    public GameResponse startGame(@RequestBody StartGameRequest request, HttpServletRequest servletRequest) {
+        // Games without a player name are limited by the address they are started from
+        userRateLimiter.admit(request.username() != null ? request.username() : servletRequest.getRemoteAddr());
         boolean randomLength = request.randomLength() != null ? request.randomLength() : false;
         return service.startNewGame(request.username(), randomLength);
     }
 
     @GetMapping("/{gameId}")
-    public GameResponse getGame(@PathVariable UUID gameId) {
-        return service.getGame(gameId);
+    public ResponseEntity<GameResponse> getGame(@PathVariable UUID gameId, WebRequest request) {
+        // A game without a view is only loaded once its version shows it changed
+        var view = service.findGameView(gameId);
+        String etag = etag(view.map(GameView::version).orElseGet(() -> service.getGameVersion(gameId)));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(view.map(GameView::game).orElseGet(() -> service.getGame(gameId)));
     }
 
+    /**
+     * Answers with the whole game, or with only what the guess changed when
+     * asked for with "Prefer: return=minimal" or "?return=minimal".
+     */
     @PostMapping("/{gameId}/guess")
-    public GuessResponse guess(@PathVariable UUID gameId, @RequestBody GuessRequest request) {
-        return service.makeGuess(gameId, request);
+    public ResponseEntity<?> guess(
+            @PathVariable UUID gameId,
+            @RequestBody GuessRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(name = PREFER, required = false) String prefer,
+            @RequestParam(name = "return", required = false) String returns) {
+        // Retries get the same guess back, whichever answer they ask for
+        GuessResponse response = idempotency.respond(gameId, "guess", idempotencyKey, request,
+            () -> service.makeGuess(gameId, request));
+        if (!prefersMinimal(prefer, returns)) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok()
+            .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+            .body(GameMapper.toGuessDeltaResponse(response));
     }
 
     @PostMapping("/{gameId}/rounds")
     public GameResponse startNewRound(
             @PathVariable UUID gameId,
-            @RequestParam(required = false, defaultValue = "false") boolean random) {
-        return service.startNewRound(gameId, random);
+            @RequestParam(required = false, defaultValue = "false") boolean random,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotency.respond(gameId, "rounds", idempotencyKey, random,
+            () -> service.startNewRound(gameId, random));
+    }
+
+    @GetMapping("/{gameId}/rounds")
+    public RoundHistoryResponse getPastRounds(
+            @PathVariable UUID gameId,
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return service.getPastRounds(gameId, after, Math.max(1, Math.min(limit, MAX_ROUNDS_PER_PAGE)));
+    }
+
+    @GetMapping("/{gameId}/rank")
+    public RankResponse getRank(@PathVariable UUID gameId) {
+        return service.getRank(gameId);
     }
 
     @DeleteMapping("/{gameId}")
@@ -59,7 +131,36 @@ public class GameController {
     }
 
     @GetMapping("/scoreboard")
-    public List<ScoreboardEntry> getScoreboard() {
-        return service.getScoreboard();
+    public ResponseEntity<List<ScoreboardEntry>> getScoreboard(
+            @RequestParam(defaultValue = "ALL") ScoreWindow window,
+            @RequestParam(required = false) Boolean random,
+            WebRequest request) {
+        var version = service.getScoreboardVersion(window);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(service.getScoreboard(window, random));
+        }
+
+        String etag = etag(version.get());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(service.getScoreboard(window, random));
+    }
+
+    @GetMapping(path = "/scoreboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScoreboard() {
+        return broadcaster.subscribe();
+    }
+
+    private static boolean prefersMinimal(String prefer, String returns) {
+        if (returns != null) {
+            return returns.equals("minimal");
+        }
+        return prefer != null && Arrays.stream(prefer.split(","))
+            .anyMatch(preference -> preference.trim().equalsIgnoreCase(RETURN_MINIMAL));
+    }
+
+    private static String etag(String version) {
+        return "\"" + version + "\"";
     }
 }
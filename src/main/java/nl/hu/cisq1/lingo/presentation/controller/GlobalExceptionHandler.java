@@ -4,7 +4,12 @@ import nl.hu.cisq1.lingo.application.exceptions.GameNotFoundException;
 import nl.hu.cisq1.lingo.domain.exceptions.InvalidActionException;
 import nl.hu.cisq1.lingo.domain.exceptions.InvalidFeedbackException;
 import nl.hu.cisq1.lingo.domain.exceptions.InvalidWordException;
+import nl.hu.cisq1.lingo.presentation.bulkhead.BulkheadFullException;
+import nl.hu.cisq1.lingo.presentation.idempotency.IdempotencyKeyReusedException;
+import nl.hu.cisq1.lingo.presentation.ratelimit.RateLimitedException;
 import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -48,6 +53,42 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request);
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException ex, WebRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY, request);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Object> handleBulkheadFullException(
+            BulkheadFullException ex, WebRequest request) {
+        ResponseEntity<Object> response = buildErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity.status(response.getStatusCode())
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(response.getBody());
+    }
+
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<Object> handleRateLimitedException(
+            RateLimitedException ex, WebRequest request) {
+        ResponseEntity<Object> response = buildErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, request);
+        // Retry-After is in whole seconds, rounded up so the retry is admitted
+        long seconds = (ex.getRetryAfter().toMillis() + 999) / 1000;
+        return ResponseEntity.status(response.getStatusCode())
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(seconds, 1)))
+            .body(response.getBody());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        return buildErrorResponse(
+            "The game was changed by another request, please try again",
+            HttpStatus.CONFLICT,
+            request
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGlobalException(
             Exception ex, WebRequest request) {
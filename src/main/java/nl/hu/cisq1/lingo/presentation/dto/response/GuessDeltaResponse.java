@@ -0,0 +1,20 @@
+package nl.hu.cisq1.lingo.presentation.dto.response;
+
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+
+/**
+ * What a guess changed, for clients that keep the game themselves. The
+ * version is the ETag of the game after the guess: showing the game with it
+ * in If-None-Match answers 304 Not Modified while the copy of the client is
+ * current, and the whole game once it has drifted.
+ */
+public record GuessDeltaResponse(
+    FeedbackResponse feedback,
+    String hint,
+    int attemptsRemaining,
+    GameState state,
+    int score,
+    String targetWord,
+    String version
+) {
+}
@@ -1,7 +1,12 @@
 package nl.hu.cisq1.lingo.presentation.dto.response;
 
+/**
+ * The feedback on a guess and the game after it. The version is the ETag
+ * the game is now shown with.
+ */
 public record GuessResponse(
     FeedbackResponse feedback,
-    GameResponse gameState
+    GameResponse gameState,
+    String version
 ) {
 }
@@ -0,0 +1,6 @@
+package nl.hu.cisq1.lingo.presentation.dto.response;
+
+import java.util.UUID;
+
+public record RankResponse(UUID gameId, int rank) {
+}
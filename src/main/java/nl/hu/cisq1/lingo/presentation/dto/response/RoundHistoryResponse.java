@@ -0,0 +1,13 @@
+package nl.hu.cisq1.lingo.presentation.dto.response;
+
+import java.util.List;
+
+/**
+ * A page of past rounds. Passing next as the after parameter gives the
+ * following page; it is null on the last one.
+ */
+public record RoundHistoryResponse(
+    List<RoundResponse> rounds,
+    Integer next
+) {
+}
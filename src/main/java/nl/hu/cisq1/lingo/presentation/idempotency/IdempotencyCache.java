@@ -0,0 +1,120 @@
+package nl.hu.cisq1.lingo.presentation.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses to recent requests that carried an
+ * Idempotency-Key, so a client that retries a request gets the first
+ * response again instead of applying the request twice.
+ *
+ * A retry that arrives while the first request is still running waits for
+ * its response. Failed requests are forgotten, so they can be retried.
+ * Responses are kept for the time to live and at most capacity are kept;
+ * as entries are kept in the order they were made, the oldest go first.
+ */
+public class IdempotencyCache {
+    private final Duration ttl;
+    private final int capacity;
+    private final Clock clock;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyCache(Duration ttl, int capacity, Clock clock) {
+        this.ttl = ttl;
+        this.capacity = capacity;
+        this.clock = clock;
+    }
+
+    private record Key(UUID gameId, String operation, String idempotencyKey) {
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> response, Instant expiresAt) {
+    }
+
+    /**
+     * Returns the response to an earlier request on the game with the same
+     * operation and key, or performs the action when there is none. Without
+     * a key the action is always performed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T respond(UUID gameId, String operation, String idempotencyKey, Object request, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+
+        Key key = new Key(gameId, operation, idempotencyKey);
+        Entry entry;
+        boolean first;
+        synchronized (entries) {
+            Instant now = clock.instant();
+            removeExpired(now);
+
+            entry = entries.get(key);
+            first = entry == null;
+            if (first) {
+                entry = new Entry(request, new CompletableFuture<>(), now.plus(ttl));
+                entries.put(key, entry);
+                if (entries.size() > capacity) {
+                    Iterator<Entry> oldest = entries.values().iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+            } else if (!Objects.equals(entry.request(), request)) {
+                throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + idempotencyKey + " was already used for a different request");
+            }
+        }
+
+        if (first) {
+            return perform(key, entry, action);
+        }
+        try {
+            return (T) entry.response().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private <T> T perform(Key key, Entry entry, Supplier<T> action) {
+        try {
+            T response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Errors too, or retries with this key would wait for a response that never comes
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void removeExpired(Instant now) {
+        Iterator<Map.Entry<Key, Entry>> oldest = entries.entrySet().iterator();
+        while (oldest.hasNext() && !oldest.next().getValue().expiresAt().isAfter(now)) {
+            oldest.remove();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package nl.hu.cisq1.lingo.presentation.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfiguration {
+
+    @Bean
+    public IdempotencyCache idempotencyCache(
+            @Value("${lingo.idempotency.ttl:10m}") Duration ttl,
+            @Value("${lingo.idempotency.capacity:10000}") int capacity) {
+        return new IdempotencyCache(ttl, capacity, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,7 @@
+package nl.hu.cisq1.lingo.presentation.idempotency;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package nl.hu.cisq1.lingo.presentation.ratelimit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfiguration {
+    private static final Duration CLEANUP_EVERY = Duration.ofSeconds(1);
+
+    @Bean
+    public RateLimiter userRateLimiter(
+            @Value("${lingo.rate-limit.enabled:false}") boolean enabled,
+            @Value("${lingo.rate-limit.user.rate:1}") double rate,
+            @Value("${lingo.rate-limit.user.burst:5}") int burst,
+            Clock clock) {
+        return enabled ? limiter("user", rate, burst, clock) : RateLimiter.unlimited();
+    }
+
+    @Bean
+    public RateLimiter addressRateLimiter(
+            @Value("${lingo.rate-limit.enabled:false}") boolean enabled,
+            @Value("${lingo.rate-limit.address.rate:20}") double rate,
+            @Value("${lingo.rate-limit.address.burst:50}") int burst,
+            Clock clock) {
+        return enabled ? limiter("address", rate, burst, clock) : RateLimiter.unlimited();
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimits(@Qualifier("addressRateLimiter") RateLimiter addressRateLimiter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // Ahead of the bulkheads, so turned away requests do not wait for a turn
+                registry.addInterceptor(new RateLimitInterceptor(addressRateLimiter))
+                    .addPathPatterns("/games", "/games/**")
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+
+    private static RateLimiter limiter(String name, double rate, int burst, Clock clock) {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(name, rate, burst, clock);
+        limiter.start(CLEANUP_EVERY);
+        return limiter;
+    }
+}
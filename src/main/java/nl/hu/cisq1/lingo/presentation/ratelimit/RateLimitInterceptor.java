@@ -0,0 +1,27 @@
+package nl.hu.cisq1.lingo.presentation.ratelimit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import nl.hu.cisq1.lingo.presentation.bulkhead.TrafficClass;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits gameplay requests by the address they come from, before they
+ * reach a controller.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final RateLimiter limiter;
+
+    public RateLimitInterceptor(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC && TrafficClass.of(request) == TrafficClass.GAMEPLAY) {
+            limiter.admit(request.getRemoteAddr());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package nl.hu.cisq1.lingo.presentation.ratelimit;
+
+/**
+ * Decides whether a request from a client may go ahead.
+ */
+public interface RateLimiter {
+    /**
+     * Returns when the client identified by the key may go ahead and throws
+     * a {@link RateLimitedException} when it has to wait.
+     */
+    void admit(String key);
+
+    static RateLimiter unlimited() {
+        return key -> {
+        };
+    }
+}
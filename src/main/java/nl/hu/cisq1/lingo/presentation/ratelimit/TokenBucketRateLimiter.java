@@ -0,0 +1,112 @@
+package nl.hu.cisq1.lingo.presentation.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives every client a bucket of burst tokens that refills at a fixed rate;
+ * a request takes a token or is turned away.
+ *
+ * Each bucket is a single number: the time at which it will be full again
+ * (the generic cell rate algorithm). A request moves that time one
+ * interval further, unless it would end up more than the burst ahead of
+ * now. Buckets are updated by compare-and-set and live in a concurrent map,
+ * so clients never wait for each other. Full buckets hold nothing worth
+ * keeping and are dropped in the background, so requests never walk the
+ * map. A request that updated a bucket which was dropped meanwhile takes
+ * its token again from the bucket that replaced it.
+ */
+public class TokenBucketRateLimiter implements RateLimiter, AutoCloseable {
+    private final String name;
+    private final long interval;
+    private final long tolerance;
+    private final Clock clock;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private ScheduledExecutorService cleaner;
+
+    public TokenBucketRateLimiter(String name, double rate, int burst, Clock clock) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate and burst must be positive, not " + rate + " and " + burst);
+        }
+
+        this.name = name;
+        this.interval = (long) (1_000_000_000L / rate);
+        this.tolerance = interval * (burst - 1);
+        this.clock = clock;
+    }
+
+    @Override
+    public void admit(String key) {
+        long now = nanos(clock.instant());
+        AtomicLong bucket;
+        do {
+            bucket = buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+            take(key, bucket, now);
+        } while (buckets.get(key) != bucket);
+    }
+
+    /**
+     * Drops the full buckets every interval, on a thread of its own.
+     */
+    public synchronized void start(Duration interval) {
+        if (cleaner != null) {
+            return;
+        }
+
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-rate-limit-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::dropFullBuckets, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+    }
+
+    void dropFullBuckets() {
+        long now = nanos(clock.instant());
+
+        // Only removes a bucket that is still full and still the one of its key
+        buckets.forEach((key, full) -> {
+            if (full.get() <= now) {
+                buckets.remove(key, full);
+            }
+        });
+    }
+
+    private void take(String key, AtomicLong bucket, long now) {
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now);
+            long ahead = next - now;
+            if (ahead > tolerance) {
+                throw new RateLimitedException(
+                    "Too many requests for " + name + " " + key + ", please slow down",
+                    Duration.ofNanos(ahead - tolerance));
+            }
+            if (bucket.compareAndSet(full, next + interval)) {
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
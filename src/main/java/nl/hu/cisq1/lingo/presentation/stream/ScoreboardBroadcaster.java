@@ -0,0 +1,179 @@
+package nl.hu.cisq1.lingo.presentation.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.application.ScoreChanged;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes the scoreboard to every subscriber whenever the top 20 changes.
+ *
+ * Score changes only schedule a refresh, which runs on a single thread and
+ * coalesces with any refresh that is still waiting. The board is serialized
+ * once per change and the same event is written to every subscriber, so an
+ * idle viewer costs an open connection and nothing else.
+ *
+ * New subscribers are registered on that same thread, after they were sent
+ * the board it last broadcast, so none misses a change or starts from an
+ * older board. Every subscriber is written to on a virtual thread of its
+ * own, which skips to the newest board when it falls behind, so a slow
+ * viewer only delays itself.
+ */
+@Component
+@Slf4j
+public class ScoreboardBroadcaster {
+    static final String EVENT = "scoreboard";
+
+    private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scoreboard-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile String payload;
+
+    public ScoreboardBroadcaster(
+            GameService gameService,
+            ObjectMapper objectMapper,
+            @Value("${lingo.scoreboard.stream.timeout:30m}") Duration timeout) {
+        this.gameService = gameService;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        executor.execute(() -> {
+            try {
+                if (payload == null) {
+                    payload = scoreboard();
+                }
+                subscriber.offer(event(payload));
+                subscribers.add(subscriber);
+            } catch (RuntimeException e) {
+                log.warn("could not subscribe to the scoreboard", e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChanged event) {
+        refresh();
+    }
+
+    public void refresh() {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute(this::broadcast);
+        }
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    boolean broadcast() {
+        pending.set(false);
+
+        try {
+            String next = scoreboard();
+            if (next.equals(payload)) {
+                return false;
+            }
+
+            payload = next;
+            Set<DataWithMediaType> event = event(next);
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("could not broadcast the scoreboard", e);
+            return false;
+        }
+    }
+
+    private String scoreboard() {
+        try {
+            return objectMapper.writeValueAsString(gameService.getScoreboard());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cannot write the scoreboard", e);
+        }
+    }
+
+    private static Set<DataWithMediaType> event(String payload) {
+        return SseEmitter.event()
+            .name(EVENT)
+            .data(payload, MediaType.APPLICATION_JSON)
+            .build();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicReference<Set<DataWithMediaType>> next = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<DataWithMediaType> event) {
+            next.set(event);
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            do {
+                Set<DataWithMediaType> event;
+                while ((event = next.getAndSet(null)) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // The viewer went away, the container completes the emitter
+                        subscribers.remove(this);
+                        return;
+                    }
+                }
+                sending.set(false);
+                // An offer after the last send but before the flag was cleared started no sender
+            } while (next.get() != null && sending.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package nl.hu.cisq1.lingo.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConfiguration {
+
+    @Bean
+    public RecentWrites recentWrites(@Value("${lingo.datasource.replica.max-lag:1s}") Duration maxLag) {
+        return new RecentWrites(maxLag, Clock.systemUTC());
+    }
+
+    /**
+     * Replaces the data source Spring Boot would configure by one that routes
+     * read-only transactions to a replica, each with a pool of its own.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "lingo.datasource.replica.enabled", havingValue = "true")
+    static class Replica {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            primary.setPoolName("primary");
+            return primary;
+        }
+
+        @Bean
+        @ConfigurationProperties("lingo.datasource.replica.hikari")
+        public HikariDataSource replicaDataSource(
+                @Value("${lingo.datasource.replica.url}") String url,
+                @Value("${lingo.datasource.replica.username:}") String username,
+                @Value("${lingo.datasource.replica.password:}") String password) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+            replica.setPoolName("replica");
+            replica.setReadOnly(true);
+            return replica;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(
+                @Qualifier("primaryDataSource") DataSource primary,
+                @Qualifier("replicaDataSource") DataSource replica) {
+            return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+        }
+    }
+}
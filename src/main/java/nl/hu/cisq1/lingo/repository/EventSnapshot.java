@@ -0,0 +1,51 @@
+package nl.hu.cisq1.lingo.repository;
+
+import java.util.UUID;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * The state of an event-sourced game after the event with the given
+ * sequence, so loading it only replays the events after that. The score is
+ * kept current for the scoreboard, so the snapshot is also taken whenever
+ * the score changes.
+ */
+@Entity
+@Table(name = "game_event_snapshots")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EventSnapshot {
+    @Id
+    private UUID gameId;
+
+    private long sequence;
+
+    private String username;
+    private int score;
+
+    @Column(nullable = false)
+    private boolean randomLength;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String document;
+
+    public EventSnapshot(UUID gameId) {
+        this.gameId = gameId;
+    }
+
+    public void update(long sequence, String username, int score, boolean randomLength, String document) {
+        this.sequence = sequence;
+        this.username = username;
+        this.score = score;
+        this.randomLength = randomLength;
+        this.document = document;
+    }
+}
@@ -0,0 +1,19 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.domain.Standing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface EventSnapshotRepository extends JpaRepository<EventSnapshot, UUID> {
+    List<EventSnapshot> findTop20ByOrderByScoreDesc();
+
+    List<EventSnapshot> findTop20ByRandomLengthOrderByScoreDesc(boolean randomLength);
+
+    long countByScoreGreaterThan(int score);
+
+    @Query("SELECT new nl.hu.cisq1.lingo.domain.Standing(s.gameId, s.username, s.score, s.randomLength) FROM EventSnapshot s")
+    List<Standing> findAllStandings();
+}
@@ -0,0 +1,189 @@
+package nl.hu.cisq1.lingo.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.GameEvent;
+import nl.hu.cisq1.lingo.domain.GameSnapshot;
+import nl.hu.cisq1.lingo.domain.Standing;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the events of every game instead of its state. Saving a game
+ * appends the events it recorded since it was loaded, and loading it
+ * replays the events after its latest snapshot.
+ *
+ * A snapshot is taken when the game starts, every given number of events
+ * and whenever the score changes, so the scoreboard can be read from the
+ * snapshots. Most guesses are therefore a single INSERT.
+ */
+public class EventSourcedGameStore implements GameStore {
+    static final int FORMAT = 1;
+
+    private static final Map<String, Class<? extends GameEvent>> TYPES = Arrays.stream(GameEvent.class.getPermittedSubclasses())
+        .<Class<? extends GameEvent>>map(type -> type.asSubclass(GameEvent.class))
+        .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final StoredEventRepository events;
+    private final EventSnapshotRepository snapshots;
+    private final EntityManager entityManager;
+    private final ObjectMapper mapper;
+    private final int snapshotEvery;
+    private final Clock clock;
+    private final ScoreVersions scoreVersions;
+
+    public EventSourcedGameStore(
+            StoredEventRepository events,
+            EventSnapshotRepository snapshots,
+            EntityManager entityManager,
+            ObjectMapper mapper,
+            int snapshotEvery,
+            Clock clock,
+            ScoreVersions scoreVersions) {
+        this.events = events;
+        this.snapshots = snapshots;
+        this.entityManager = entityManager;
+        this.mapper = mapper;
+        this.snapshotEvery = snapshotEvery;
+        this.clock = clock;
+        this.scoreVersions = scoreVersions;
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return snapshots.findById(id).map(snapshot -> {
+            List<StoredEvent> tail = events.findByGameIdAndSequenceGreaterThanOrderBySequence(id, snapshot.getSequence());
+            long version = tail.isEmpty() ? snapshot.getSequence() : tail.get(tail.size() - 1).getSequence();
+
+            Game game = Game.fromSnapshot(read(snapshot).withVersion(version));
+            tail.forEach(event -> game.apply(read(event)));
+            return game;
+        });
+    }
+
+    /**
+     * Replays every event of a game, for its history.
+     */
+    public List<GameEvent> findEvents(UUID id) {
+        return events.findByGameIdOrderBySequence(id).stream()
+            .map(this::read)
+            .toList();
+    }
+
+    @Override
+    public Game save(Game game) {
+        boolean started = game.getId() == null;
+        UUID id = started ? UUID.randomUUID() : game.getId();
+        long sequence = started ? 0 : game.getVersion();
+
+        for (GameEvent change : game.takeChanges()) {
+            events.save(new StoredEvent(id, ++sequence, change.getClass().getSimpleName(), write(change), clock.instant()));
+        }
+
+        GameSnapshot state = game.toSnapshot().withId(id).withVersion(sequence);
+        EventSnapshot snapshot = started
+            ? new EventSnapshot(id)
+            : snapshots.findById(id).orElseThrow(() -> new OptimisticLockingFailureException("game " + id + " is not stored"));
+
+        boolean scored = started || snapshot.getScore() != state.score();
+        if (scored || sequence - snapshot.getSequence() >= snapshotEvery) {
+            snapshot.update(sequence, state.username(), state.score(), state.randomLength(), write(new Document(FORMAT, state)));
+            if (started) {
+                entityManager.persist(snapshot);
+            }
+        }
+
+        if (scored) {
+            scoreVersions.changed();
+        }
+
+        try {
+            // Flushed here, so a clash with events appended by someone else is reported as one
+            events.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException("game " + id + " was changed concurrently", e);
+        }
+        return Game.fromSnapshot(state);
+    }
+
+    @Override
+    public Optional<String> findVersion(UUID id) {
+        return events.findLastSequence(id).map(String::valueOf);
+    }
+
+    @Override
+    public String scoreVersion() {
+        return scoreVersions.current();
+    }
+
+    @Override
+    public List<Game> findTopScores() {
+        return snapshots.findTop20ByOrderByScoreDesc().stream()
+            .map(snapshot -> Game.fromSnapshot(read(snapshot)))
+            .toList();
+    }
+
+    @Override
+    public List<Game> findTopScores(boolean randomLength) {
+        return snapshots.findTop20ByRandomLengthOrderByScoreDesc(randomLength).stream()
+            .map(snapshot -> Game.fromSnapshot(read(snapshot)))
+            .toList();
+    }
+
+    @Override
+    public long countWithScoreAbove(int score) {
+        return snapshots.countByScoreGreaterThan(score);
+    }
+
+    @Override
+    public List<Standing> findAllStandings() {
+        return snapshots.findAllStandings();
+    }
+
+    private GameSnapshot read(EventSnapshot snapshot) {
+        try {
+            Document document = mapper.readValue(snapshot.getDocument(), Document.class);
+            if (document.format() != FORMAT) {
+                throw new IllegalStateException("unknown game snapshot format: " + document.format());
+            }
+            return document.game();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("unreadable snapshot of game " + snapshot.getGameId(), e);
+        }
+    }
+
+    private GameEvent read(StoredEvent event) {
+        Class<? extends GameEvent> type = TYPES.get(event.getType());
+        if (type == null) {
+            throw new IllegalStateException("unknown game event: " + event.getType());
+        }
+
+        try {
+            return mapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("unreadable event " + event.getSequence() + " of game " + event.getGameId(), e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cannot write " + value, e);
+        }
+    }
+
+    record Document(int format, GameSnapshot game) {
+    }
+}
@@ -0,0 +1,14 @@
+package nl.hu.cisq1.lingo.repository;
+
+/**
+ * What a use case needs of a game besides the game itself, so a store that
+ * maps games to tables loads exactly that in one query.
+ */
+public enum FetchPlan {
+    /** The game alone, for looking at its state and score. */
+    GAME,
+    /** The game and its current round, for starting the next round. */
+    CURRENT_ROUND,
+    /** The game, its current round and the guesses in it, for guessing and showing the game. */
+    CURRENT_HISTORY
+}
@@ -1,10 +1,30 @@
 package nl.hu.cisq1.lingo.repository;
 
 import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.Standing;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface GameRepository extends JpaRepository<Game, UUID> {
+    @EntityGraph(Game.WITH_CURRENT_ROUND)
+    Optional<Game> findWithCurrentRoundById(UUID id);
+
+    @EntityGraph(Game.WITH_CURRENT_HISTORY)
+    Optional<Game> findWithCurrentHistoryById(UUID id);
+
     List<Game> findTop20ByOrderByScoreDesc();
+
+    List<Game> findTop20ByRandomLengthOrderByScoreDesc(boolean randomLength);
+
+    long countByScoreGreaterThan(int score);
+
+    @Query("SELECT g.version FROM Game g WHERE g.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("SELECT new nl.hu.cisq1.lingo.domain.Standing(g.id, g.username, g.score, g.randomLength) FROM Game g")
+    List<Standing> findAllStandings();
 }
@@ -0,0 +1,87 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.GameSnapshot;
+import nl.hu.cisq1.lingo.domain.GameSnapshot.RoundSnapshot;
+import nl.hu.cisq1.lingo.domain.Round;
+import nl.hu.cisq1.lingo.domain.Standing;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads and stores whole game aggregates, independent of how they are laid
+ * out in the database.
+ */
+public interface GameStore {
+    Optional<Game> findById(UUID id);
+
+    /**
+     * Loads the game with what the plan asks for; stores that keep whole
+     * games load everything regardless.
+     */
+    default Optional<Game> findById(UUID id, FetchPlan plan) {
+        return findById(id);
+    }
+
+    Game save(Game game);
+
+    /**
+     * Saves a copy of a game that only holds the past rounds that ended
+     * since it was last saved; the past rounds stored before are kept.
+     * Stores that keep whole games read the stored one to add those.
+     */
+    default Game saveCopy(Game copy) {
+        GameSnapshot snapshot = copy.toSnapshot();
+        GameSnapshot stored = findById(snapshot.id())
+            .map(Game::toSnapshot)
+            .orElseThrow(() -> new OptimisticLockingFailureException("game " + snapshot.id() + " is not stored"));
+
+        Set<UUID> ended = snapshot.pastRounds().stream().map(RoundSnapshot::id).collect(Collectors.toSet());
+        List<RoundSnapshot> rounds = Stream.concat(
+            stored.pastRounds().stream().filter(round -> !ended.contains(round.id())),
+            snapshot.pastRounds().stream()
+        ).toList();
+        return save(Game.fromSnapshot(snapshot.withPastRounds(rounds)));
+    }
+
+    /**
+     * Whether a save is undone when the transaction it ran in rolls back.
+     */
+    default boolean isTransactional() {
+        return true;
+    }
+
+    /**
+     * Past rounds of the game numbered after the given one, oldest first.
+     */
+    default List<Round> findPastRounds(UUID id, int after, int limit) {
+        return findById(id).map(game -> game.findPastRounds(after, limit)).orElse(List.of());
+    }
+
+    /**
+     * Version of the stored game, which changes with every save.
+     */
+    Optional<String> findVersion(UUID id);
+
+    /**
+     * Changes whenever a game is added or a score changes.
+     */
+    String scoreVersion();
+
+    List<Game> findTopScores();
+
+    /**
+     * The highest scoring games of one mode, sequential or random length.
+     */
+    List<Game> findTopScores(boolean randomLength);
+
+    long countWithScoreAbove(int score);
+
+    List<Standing> findAllStandings();
+}
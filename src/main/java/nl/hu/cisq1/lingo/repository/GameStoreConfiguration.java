@@ -0,0 +1,82 @@
+package nl.hu.cisq1.lingo.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class GameStoreConfiguration {
+
+    @Bean
+    public GameStore gameStore(
+            @Value("${lingo.games.storage:tables}") String storage,
+            @Value("${lingo.games.journal.path:development/journal}") Path journalPath,
+            @Value("${lingo.games.journal.segment-size:16MB}") DataSize segmentSize,
+            @Value("${lingo.games.journal.force-writes:false}") boolean forceWrites,
+            @Value("${lingo.games.events.snapshot-every:20}") int snapshotEvery,
+            @Value("${lingo.games.write-behind.enabled:false}") boolean writeBehind,
+            @Value("${lingo.games.write-behind.durability:round-end}") String durability,
+            @Value("${lingo.games.write-behind.flush-interval:1s}") Duration flushInterval,
+            @Value("${lingo.games.write-behind.batch-size:100}") int batchSize,
+            @Value("${lingo.games.write-behind.capacity:10000}") int capacity,
+            @Value("${lingo.games.write-behind.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${lingo.leaderboard.mode:database}") String leaderboardMode,
+            GameRepository gameRepository,
+            RoundRepository roundRepository,
+            EntityManager entityManager,
+            StoredGameRepository storedGameRepository,
+            StoredEventRepository storedEventRepository,
+            EventSnapshotRepository eventSnapshotRepository,
+            ScoreVersionRepository scoreVersionRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        if (writeBehind && storage.equals("events")) {
+            // The event store appends the changes a game recorded, which the copies written behind no longer have
+            throw new IllegalStateException("write-behind cannot write games to event storage");
+        }
+
+        // Only the database leaderboard asks the store for its score version
+        ScoreVersions scoreVersions = new ScoreVersions(scoreVersionRepository, leaderboardMode.equals("database"));
+        GameStore store = switch (storage) {
+            case "tables" -> new JpaGameStore(gameRepository, roundRepository, entityManager, scoreVersions);
+            case "snapshot" -> new SnapshotGameStore(storedGameRepository, objectMapper, scoreVersions);
+            case "events" -> new EventSourcedGameStore(storedEventRepository, eventSnapshotRepository, entityManager, objectMapper, snapshotEvery, Clock.systemUTC(), scoreVersions);
+            case "journal" -> JournalGameStore.open(journalPath, Math.toIntExact(segmentSize.toBytes()), forceWrites, objectMapper);
+            default -> throw new IllegalStateException("unknown game storage: " + storage);
+        };
+
+        if (!writeBehind) {
+            return store;
+        }
+
+        WriteBehindGameStore registry = new WriteBehindGameStore(
+            store,
+            new TransactionTemplate(transactionManager),
+            durability(durability),
+            capacity,
+            idleTimeout,
+            batchSize,
+            Clock.systemUTC()
+        );
+        registry.start(flushInterval);
+        return registry;
+    }
+
+    private static WriteBehindGameStore.Durability durability(String durability) {
+        return switch (durability) {
+            case "interval" -> WriteBehindGameStore.Durability.INTERVAL;
+            case "round-end" -> WriteBehindGameStore.Durability.ROUND_END;
+            case "game-over" -> WriteBehindGameStore.Durability.GAME_OVER;
+            default -> throw new IllegalStateException("unknown write-behind durability: " + durability);
+        };
+    }
+}
@@ -0,0 +1,228 @@
+package nl.hu.cisq1.lingo.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of records, spread over memory-mapped segment files of a
+ * fixed size.
+ *
+ * Every record is its length, a CRC-32 of its payload and the payload. The
+ * unwritten rest of a segment is zero, so a length of zero ends a segment.
+ * When the journal is opened, it is read up to the first record that is cut
+ * off or does not match its checksum; anything after that was never fully
+ * written and is overwritten by the next append.
+ */
+@Slf4j
+final class Journal implements AutoCloseable {
+    private static final int HEADER = 8;
+    private static final Pattern SEGMENT = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private long segment;
+    private int offset;
+    private MappedByteBuffer buffer;
+
+    private Journal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    record Position(long segment, int offset) {
+    }
+
+    /**
+     * Opens the journal in the directory and passes every record from the
+     * given position on to the reader, in the order they were appended.
+     */
+    static Journal open(Path directory, int segmentSize, Position from, Consumer<byte[]> reader) {
+        try {
+            Files.createDirectories(directory);
+            Journal journal = new Journal(directory, segmentSize);
+            journal.recover(from, reader);
+            return journal;
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot open journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends a record and returns whether it started a new segment.
+     */
+    boolean append(byte[] payload) {
+        if (HEADER + payload.length > segmentSize) {
+            throw new IllegalArgumentException("record of " + payload.length + " bytes does not fit a segment");
+        }
+
+        boolean rotated = false;
+        if (offset + HEADER + payload.length > segmentSize) {
+            map(segment + 1);
+            rotated = true;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.put(offset + HEADER, payload);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, payload.length);
+        offset += HEADER + payload.length;
+        return rotated;
+    }
+
+    Position position() {
+        return new Position(segment, offset);
+    }
+
+    /**
+     * Writes appended records to the disk, rather than leaving that to the
+     * operating system.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes the segments before the given one, once everything in them is
+     * kept elsewhere.
+     */
+    void deleteBefore(long segment) {
+        for (long number : segments()) {
+            if (number < segment) {
+                delete(number);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    private void recover(Position from, Consumer<byte[]> reader) throws IOException {
+        List<Long> segments = segments().stream()
+            .filter(number -> number >= from.segment())
+            .toList();
+        if (segments.isEmpty()) {
+            map(from.segment());
+            offset = from.offset();
+            return;
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            map(segments.get(i));
+            offset = segments.get(i) == from.segment() ? from.offset() : 0;
+
+            boolean complete = read(reader);
+            boolean last = i == segments.size() - 1;
+            if (!complete || last) {
+                // Whatever follows a broken record was written after it and cannot be trusted either
+                segments.subList(i + 1, segments.size()).forEach(this::delete);
+                clearFrom(offset);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the records of the current segment and returns whether it ended
+     * in a full segment rather than in a broken record.
+     */
+    private boolean read(Consumer<byte[]> reader) {
+        while (offset + HEADER <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                return isZeroFrom(offset);
+            }
+            if (length < 0 || offset + HEADER + length > segmentSize) {
+                log.warn("journal segment {} ends in a record cut off at {}", segment, offset);
+                return false;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                log.warn("journal segment {} ends in a damaged record at {}", segment, offset);
+                return false;
+            }
+
+            reader.accept(payload);
+            offset += HEADER + length;
+        }
+        return true;
+    }
+
+    private boolean isZeroFrom(int from) {
+        for (int i = from; i < segmentSize; i++) {
+            if (buffer.get(i) != 0) {
+                log.warn("journal segment {} holds a partial record at {}", segment, from);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clearFrom(int from) {
+        for (int i = from; i < segmentSize; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private void map(long number) {
+        if (buffer != null) {
+            buffer.force();
+        }
+
+        // Mapping beyond the end of a file grows it with zeroes
+        try (FileChannel channel = FileChannel.open(file(number),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot map journal segment " + number, e);
+        }
+        segment = number;
+        offset = 0;
+    }
+
+    private List<Long> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(file -> SEGMENT.matcher(file.getFileName().toString()))
+                .filter(Matcher::matches)
+                .map(matcher -> Long.parseLong(matcher.group(1)))
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot list journal segments in " + directory, e);
+        }
+    }
+
+    private void delete(long number) {
+        try {
+            Files.deleteIfExists(file(number));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot delete journal segment " + number, e);
+        }
+    }
+
+    private Path file(long number) {
+        return directory.resolve("segment-%08d.log".formatted(number));
+    }
+}
@@ -0,0 +1,383 @@
+package nl.hu.cisq1.lingo.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.GameSnapshot;
+import nl.hu.cisq1.lingo.domain.Standing;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps all games in memory and records every change to them in a
+ * {@link Journal}, so no database is needed to store games.
+ *
+ * A new game is recorded whole. Later changes record the game without its
+ * past rounds: when the current round is replaced, the one it replaces has
+ * become a past round. Whenever the journal starts a new segment, a copy of
+ * all games is written to a snapshot in the background and older segments
+ * are deleted. On startup the games are read from the latest snapshot,
+ * followed by the changes after it.
+ *
+ * A save in a transaction is staged and only appended once that transaction
+ * commits; until then the transaction reads its own change, other saves of
+ * the game are rejected as a concurrent change and everyone else reads the
+ * game as it was. So a transaction that rolls back leaves the journal
+ * untouched, and a command that is run again after a lost race applies its
+ * change once. Saves outside a transaction are appended right away.
+ */
+@Slf4j
+public class JournalGameStore implements GameStore, AutoCloseable {
+    static final int FORMAT = 1;
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)-(\\d+)\\.json");
+
+    private final Path directory;
+    private final ObjectMapper mapper;
+    private final boolean forceWrites;
+    private final Map<UUID, GameSnapshot> games = new ConcurrentHashMap<>();
+    private final Map<UUID, Pending> staged = new ConcurrentHashMap<>();
+    private final Journal journal;
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long totalScore;
+
+    private JournalGameStore(Path directory, int segmentSize, boolean forceWrites, ObjectMapper mapper) {
+        this.directory = directory;
+        this.mapper = mapper;
+        this.forceWrites = forceWrites;
+
+        Journal.Position from = readSnapshot();
+        this.journal = Journal.open(directory, segmentSize, from, payload -> apply(read(payload, Change.class)));
+        log.info("read {} games from the journal in {}", games.size(), directory.toAbsolutePath());
+    }
+
+    public static JournalGameStore open(Path directory, int segmentSize, boolean forceWrites, ObjectMapper mapper) {
+        return new JournalGameStore(directory, segmentSize, forceWrites, mapper);
+    }
+
+    enum Type {
+        STARTED,
+        GUESSED,
+        ROUND_STARTED,
+        FORFEITED
+    }
+
+    record Change(int format, Type type, GameSnapshot game) {
+    }
+
+    record Snapshot(int format, List<GameSnapshot> games) {
+    }
+
+    /**
+     * Changes saved in a transaction, appended in order once it commits.
+     */
+    private static final class Pending {
+        private final List<Change> changes = new ArrayList<>();
+        private final Map<UUID, GameSnapshot> games = new HashMap<>();
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return Optional.ofNullable(current(id, pending(false))).map(Game::fromSnapshot);
+    }
+
+    @Override
+    public synchronized Game save(Game game) {
+        Pending pending = pending(true);
+        if (game.getId() != null) {
+            Pending other = staged.get(game.getId());
+            if (other != null && other != pending) {
+                throw concurrentChange(game.getId());
+            }
+        }
+
+        GameSnapshot previous = game.getId() == null ? null : current(game.getId(), pending);
+        if (game.getId() != null && (previous == null || previous.version() != game.getVersion())) {
+            throw concurrentChange(game.getId());
+        }
+
+        GameSnapshot next = previous == null
+            ? game.toSnapshot().withId(UUID.randomUUID()).withVersion(0)
+            : game.toSnapshot().withVersion(previous.version() + 1);
+        Change change = previous == null
+            ? new Change(FORMAT, Type.STARTED, next)
+            : new Change(FORMAT, typeOf(previous, next), withoutPastRounds(next));
+
+        if (pending == null) {
+            append(change);
+        } else {
+            pending.changes.add(change);
+            pending.games.put(next.id(), next);
+            staged.put(next.id(), pending);
+        }
+        return Game.fromSnapshot(next);
+    }
+
+    @Override
+    public Optional<String> findVersion(UUID id) {
+        return Optional.ofNullable(current(id, pending(false))).map(game -> String.valueOf(game.version()));
+    }
+
+    @Override
+    public synchronized String scoreVersion() {
+        return games.size() + "-" + totalScore;
+    }
+
+    @Override
+    public List<Game> findTopScores() {
+        return games.values().stream()
+            .sorted(Comparator.comparingInt(GameSnapshot::score).reversed())
+            .limit(20)
+            .map(Game::fromSnapshot)
+            .toList();
+    }
+
+    @Override
+    public List<Game> findTopScores(boolean randomLength) {
+        return games.values().stream()
+            .filter(game -> game.randomLength() == randomLength)
+            .sorted(Comparator.comparingInt(GameSnapshot::score).reversed())
+            .limit(20)
+            .map(Game::fromSnapshot)
+            .toList();
+    }
+
+    @Override
+    public long countWithScoreAbove(int score) {
+        return games.values().stream()
+            .filter(game -> game.score() > score)
+            .count();
+    }
+
+    @Override
+    public List<Standing> findAllStandings() {
+        return games.values().stream()
+            .map(game -> new Standing(game.id(), game.username(), game.score(), game.randomLength()))
+            .toList();
+    }
+
+    @Override
+    public synchronized void close() {
+        // Waits for a snapshot that is being written, so the one below is the latest
+        snapshotter.close();
+        writeSnapshot(journal.position(), List.copyOf(games.values()));
+        journal.close();
+    }
+
+    synchronized Journal.Position position() {
+        return journal.position();
+    }
+
+    private void append(Change change) {
+        boolean rotated = journal.append(write(change));
+        if (forceWrites) {
+            journal.force();
+        }
+        apply(change);
+
+        if (rotated) {
+            // The copy matches the position, as both only change while saving
+            Journal.Position position = journal.position();
+            List<GameSnapshot> copy = List.copyOf(games.values());
+            snapshotter.execute(() -> {
+                try {
+                    writeSnapshot(position, copy);
+                } catch (UncheckedIOException e) {
+                    log.warn("could not write a journal snapshot, keeping the segments before it", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * The game as the given transaction sees it: with its own staged change.
+     */
+    private GameSnapshot current(UUID id, Pending pending) {
+        if (pending != null && pending.games.containsKey(id)) {
+            return pending.games.get(id);
+        }
+        return games.get(id);
+    }
+
+    /**
+     * The changes staged by the current transaction, or null outside of a
+     * transaction, where saves are appended right away.
+     */
+    private Pending pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Runs before the caller is answered, so a failed append is not reported as saved
+                    appendCommitted(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JournalGameStore.this);
+                    unstage(created);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private synchronized void appendCommitted(Pending pending) {
+        pending.changes.forEach(this::append);
+    }
+
+    private synchronized void unstage(Pending pending) {
+        pending.games.keySet().forEach(id -> staged.remove(id, pending));
+    }
+
+    private static OptimisticLockingFailureException concurrentChange(UUID id) {
+        return new OptimisticLockingFailureException("game " + id + " was changed concurrently");
+    }
+
+    private static Type typeOf(GameSnapshot previous, GameSnapshot next) {
+        if (next.currentRound() != null && (previous.currentRound() == null
+                || !next.currentRound().id().equals(previous.currentRound().id()))) {
+            return Type.ROUND_STARTED;
+        }
+        if (next.state() == GameState.ELIMINATED && next.currentRound().attemptsUsed() == previous.currentRound().attemptsUsed()) {
+            return Type.FORFEITED;
+        }
+        return Type.GUESSED;
+    }
+
+    private static GameSnapshot withoutPastRounds(GameSnapshot game) {
+        return new GameSnapshot(game.id(), game.username(), game.score(), game.state(), game.currentRound(),
+            List.of(), game.lastWordLength(), game.randomLength(), game.version());
+    }
+
+    private void apply(Change change) {
+        if (change.format() != FORMAT) {
+            throw new IllegalStateException("unknown journal format: " + change.format());
+        }
+
+        GameSnapshot next = change.game();
+        GameSnapshot previous = games.get(next.id());
+        if (change.type() != Type.STARTED) {
+            Objects.requireNonNull(previous, "journal changes game " + next.id() + " before it was started");
+
+            List<GameSnapshot.RoundSnapshot> pastRounds = previous.pastRounds();
+            if (change.type() == Type.ROUND_STARTED && previous.currentRound() != null) {
+                pastRounds = new ArrayList<>(pastRounds);
+                pastRounds.add(previous.currentRound());
+            }
+            next = new GameSnapshot(next.id(), next.username(), next.score(), next.state(), next.currentRound(),
+                List.copyOf(pastRounds), next.lastWordLength(), next.randomLength(), next.version());
+        }
+
+        totalScore += next.score() - (previous == null ? 0 : previous.score());
+        games.put(next.id(), next);
+    }
+
+    private Journal.Position readSnapshot() {
+        Optional<Path> latest = snapshots().max(Comparator.comparing(this::positionOf,
+            Comparator.comparingLong(Journal.Position::segment).thenComparingInt(Journal.Position::offset)));
+        if (latest.isEmpty()) {
+            return new Journal.Position(0, 0);
+        }
+
+        try {
+            Snapshot snapshot = mapper.readValue(latest.get().toFile(), Snapshot.class);
+            if (snapshot.format() != FORMAT) {
+                throw new IllegalStateException("unknown journal snapshot format: " + snapshot.format());
+            }
+            snapshot.games().forEach(game -> {
+                games.put(game.id(), game);
+                totalScore += game.score();
+            });
+            return positionOf(latest.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read journal snapshot " + latest.get(), e);
+        }
+    }
+
+    private void writeSnapshot(Journal.Position position, List<GameSnapshot> copy) {
+        Path file = directory.resolve("snapshot-%08d-%010d.json".formatted(position.segment(), position.offset()));
+        Path partial = directory.resolve(file.getFileName() + ".partial");
+
+        try {
+            mapper.writeValue(partial.toFile(), new Snapshot(FORMAT, copy));
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            for (Path older : snapshots().filter(other -> !other.equals(file)).toList()) {
+                Files.delete(older);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot write journal snapshot " + file, e);
+        }
+        journal.deleteBefore(position.segment());
+    }
+
+    private Stream<Path> snapshots() {
+        try (Stream<Path> files = Files.exists(directory) ? Files.list(directory) : Stream.empty()) {
+            return files
+                .filter(file -> SNAPSHOT.matcher(file.getFileName().toString()).matches())
+                .toList()
+                .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot list journal snapshots in " + directory, e);
+        }
+    }
+
+    private Journal.Position positionOf(Path snapshot) {
+        Matcher matcher = SNAPSHOT.matcher(snapshot.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(snapshot.toString());
+        }
+        return new Journal.Position(Long.parseLong(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    private byte[] write(Change change) {
+        try {
+            return mapper.writeValueAsBytes(change);
+        } catch (IOException e) {
+            throw new IllegalStateException("cannot write change of game " + change.game().id(), e);
+        }
+    }
+
+    private <T> T read(byte[] payload, Class<T> type) {
+        try {
+            return mapper.readValue(payload, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("unreadable journal record", e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.Round;
+import nl.hu.cisq1.lingo.domain.Standing;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maps games, rounds and feedback to their own tables.
+ *
+ * Concurrent changes of a game are found by its version alone: saving a game
+ * takes no lock, and the version is only checked and moved when the
+ * transaction commits, which fails when another transaction moved it first.
+ */
+public class JpaGameStore implements GameStore {
+    private final GameRepository gameRepository;
+    private final RoundRepository roundRepository;
+    private final EntityManager entityManager;
+    private final ScoreVersions scoreVersions;
+
+    public JpaGameStore(GameRepository gameRepository, RoundRepository roundRepository, EntityManager entityManager, ScoreVersions scoreVersions) {
+        this.gameRepository = gameRepository;
+        this.roundRepository = roundRepository;
+        this.entityManager = entityManager;
+        this.scoreVersions = scoreVersions;
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return findById(id, FetchPlan.CURRENT_HISTORY);
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id, FetchPlan plan) {
+        return switch (plan) {
+            case GAME -> gameRepository.findById(id);
+            case CURRENT_ROUND -> gameRepository.findWithCurrentRoundById(id);
+            case CURRENT_HISTORY -> gameRepository.findWithCurrentHistoryById(id);
+        };
+    }
+
+    @Override
+    public Game save(Game game) {
+        if (game.getId() == null) {
+            Game saved = gameRepository.save(game);
+            scoreVersions.changed();
+            return saved;
+        }
+
+        // A game loaded in this transaction is flushed as it is; a copy, such as one kept in
+        // memory by WriteBehindGameStore, is merged into the stored game first
+        Game saved = entityManager.contains(game) ? game : gameRepository.save(game);
+        boolean scored = saved.isScoreChanged();
+
+        // A guess only changes the current round, so the game row itself is not always dirty. Its
+        // version is moved as the transaction commits, so a concurrent change fails the commit
+        entityManager.lock(saved, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        rememberSaved(saved);
+
+        if (scored) {
+            scoreVersions.changed();
+        }
+        return saved;
+    }
+
+    @Override
+    public Game saveCopy(Game copy) {
+        // Merging a copy without past rounds only queues clearing the stored ones, which the
+        // rounds own, so they are not read; the rounds that ended since are merged on their own
+        List<Round> ended = copy.takePastRounds();
+        Game saved = save(copy);
+        ended.forEach(entityManager::merge);
+        return saved;
+    }
+
+    @Override
+    public List<Round> findPastRounds(UUID id, int after, int limit) {
+        return roundRepository.findPastRounds(id, after, Limit.of(limit));
+    }
+
+    @Override
+    public Optional<String> findVersion(UUID id) {
+        Game saved = savedInTransaction(id);
+        if (saved == null) {
+            return gameRepository.findVersionById(id).map(String::valueOf);
+        }
+
+        // Flushing moves the version for changes to the game row itself; the
+        // commit moves it once more, which is the version the game is stored with
+        gameRepository.flush();
+        return Optional.of(String.valueOf(saved.getVersion() + 1));
+    }
+
+    @Override
+    public String scoreVersion() {
+        return scoreVersions.current();
+    }
+
+    @Override
+    public List<Game> findTopScores() {
+        return gameRepository.findTop20ByOrderByScoreDesc();
+    }
+
+    @Override
+    public List<Game> findTopScores(boolean randomLength) {
+        return gameRepository.findTop20ByRandomLengthOrderByScoreDesc(randomLength);
+    }
+
+    @Override
+    public long countWithScoreAbove(int score) {
+        return gameRepository.countByScoreGreaterThan(score);
+    }
+
+    @Override
+    public List<Standing> findAllStandings() {
+        return gameRepository.findAllStandings();
+    }
+
+    /**
+     * The game as saved in the current transaction, whose version moves as
+     * it commits, or null when it was not saved in it.
+     */
+    private Game savedInTransaction(UUID id) {
+        @SuppressWarnings("unchecked")
+        Map<UUID, Game> saved = (Map<UUID, Game>) TransactionSynchronizationManager.getResource(this);
+        return saved == null ? null : saved.get(id);
+    }
+
+    private void rememberSaved(Game game) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, Game> saved = (Map<UUID, Game>) TransactionSynchronizationManager.getResource(this);
+        if (saved == null) {
+            saved = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, saved);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JpaGameStore.this);
+                }
+            });
+        }
+        saved.put(game.getId(), game);
+    }
+}
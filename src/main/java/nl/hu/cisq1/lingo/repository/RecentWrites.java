@@ -0,0 +1,79 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which games were written lately, so a client reads its own
+ * writes even when the replica lags behind: reads of a game written less
+ * than the maximum lag ago go to the primary.
+ *
+ * Inside a transaction a write is only remembered once the transaction has
+ * committed, so a slow commit does not use up the time the replica has to
+ * catch up. Writes are only remembered by this instance, so with several
+ * instances a client should keep talking to the same one.
+ */
+public class RecentWrites {
+    private static final int CLEANUP_EVERY = 1024;
+
+    private final Duration maxLag;
+    private final Clock clock;
+    private final Map<UUID, Instant> writes = new ConcurrentHashMap<>();
+    private final AtomicLong count = new AtomicLong();
+
+    public RecentWrites(Duration maxLag, Clock clock) {
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    public void written(UUID gameId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(gameId);
+                }
+            });
+        } else {
+            remember(gameId);
+        }
+    }
+
+    /**
+     * Runs a read of the game, on the primary when the game was written
+     * lately.
+     */
+    public <T> T read(UUID gameId, Supplier<T> read) {
+        if (!isWrittenLately(gameId)) {
+            return read.get();
+        }
+        return ReplicaRoutingDataSource.pinned(read);
+    }
+
+    boolean isWrittenLately(UUID gameId) {
+        Instant written = writes.get(gameId);
+        return written != null && !isStale(written, clock.instant());
+    }
+
+    private void remember(UUID gameId) {
+        Instant now = clock.instant();
+        writes.put(gameId, now);
+
+        if (count.incrementAndGet() % CLEANUP_EVERY == 0) {
+            writes.values().removeIf(written -> isStale(written, now));
+        }
+    }
+
+    private boolean isStale(Instant written, Instant now) {
+        return !written.plus(maxLag).isAfter(now);
+    }
+}
@@ -0,0 +1,54 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary, unless the reads are pinned to the primary.
+ *
+ * Transactions take their connection when they begin, before they are
+ * marked read-only, so this must sit behind a LazyConnectionDataSourceProxy
+ * that only takes the connection at the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs the work with every connection it takes coming from the primary.
+     */
+    static <T> T pinned(Supplier<T> work) {
+        if (PINNED.get()) {
+            return work.get();
+        }
+
+        PINNED.set(true);
+        try {
+            return work.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PINNED.get()
+            ? Target.REPLICA
+            : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,14 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.domain.Round;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface RoundRepository extends JpaRepository<Round, UUID> {
+    @Query("SELECT r FROM Round r WHERE r.pastRoundOf.id = :gameId AND r.number > :after ORDER BY r.number")
+    List<Round> findPastRounds(UUID gameId, int after, Limit limit);
+}
@@ -0,0 +1,25 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.domain.ScoreEvent;
+import nl.hu.cisq1.lingo.domain.Standing;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface ScoreEventRepository extends JpaRepository<ScoreEvent, UUID> {
+    List<ScoreEvent> findByScoredAtAfter(Instant since);
+
+    @Query("SELECT new nl.hu.cisq1.lingo.domain.Standing(e.gameId, e.username, CAST(SUM(e.points) AS Integer), e.randomLength) "
+        + "FROM ScoreEvent e WHERE e.scoredAt > :since "
+        + "GROUP BY e.gameId, e.username, e.randomLength ORDER BY SUM(e.points) DESC")
+    List<Standing> findTopSince(Instant since, Pageable page);
+
+    @Query("SELECT new nl.hu.cisq1.lingo.domain.Standing(e.gameId, e.username, CAST(SUM(e.points) AS Integer), e.randomLength) "
+        + "FROM ScoreEvent e WHERE e.scoredAt > :since AND e.randomLength = :randomLength "
+        + "GROUP BY e.gameId, e.username, e.randomLength ORDER BY SUM(e.points) DESC")
+    List<Standing> findTopSince(Instant since, boolean randomLength, Pageable page);
+}
@@ -0,0 +1,30 @@
+package nl.hu.cisq1.lingo.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The only row of score_version: a count of the games added and the scores
+ * changed in the database.
+ */
+@Entity
+@Table(name = "score_version")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScoreVersion {
+    static final int ID = 1;
+
+    @Id
+    private int id;
+
+    private long version;
+
+    ScoreVersion(long version) {
+        this.id = ID;
+        this.version = version;
+    }
+}
@@ -0,0 +1,20 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ScoreVersionRepository extends JpaRepository<ScoreVersion, Integer> {
+    /**
+     * Counts one more change without reading the row first, and returns
+     * whether there was one.
+     */
+    @Modifying
+    @Query("UPDATE ScoreVersion v SET v.version = v.version + 1 WHERE v.id = :id")
+    int increment(int id);
+
+    @Query("SELECT v.version FROM ScoreVersion v WHERE v.id = :id")
+    Optional<Long> findVersionById(int id);
+}
@@ -0,0 +1,47 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Keeps the score version of the stores that write games to the database in
+ * a single counter row, so the scoreboard reads its version with a lookup by
+ * id instead of counting and summing every game.
+ *
+ * The stores count a change in the transaction that writes the game, so the
+ * version moves together with what the scoreboard reads. Every such
+ * transaction holds the lock on the row until it commits, so it is only
+ * kept when the scoreboard is read from the database.
+ */
+public class ScoreVersions {
+    private final ScoreVersionRepository repository;
+    private final boolean kept;
+
+    public ScoreVersions(ScoreVersionRepository repository, boolean kept) {
+        this.repository = repository;
+        this.kept = kept;
+    }
+
+    /**
+     * Counts a game that was added or a score that changed.
+     */
+    public void changed() {
+        if (!kept || repository.increment(ScoreVersion.ID) > 0) {
+            return;
+        }
+
+        // Two first changes can both find no row; the one that inserts second is retried
+        try {
+            repository.saveAndFlush(new ScoreVersion(1));
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException("score version was created concurrently", e);
+        }
+    }
+
+    public String current() {
+        if (!kept) {
+            throw new IllegalStateException("score versions are only kept for the database leaderboard");
+        }
+        return repository.findVersionById(ScoreVersion.ID).map(String::valueOf).orElse("0");
+    }
+}
@@ -0,0 +1,124 @@
+package nl.hu.cisq1.lingo.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.GameSnapshot;
+import nl.hu.cisq1.lingo.domain.Standing;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores every game as one row holding a JSON snapshot of the aggregate, so
+ * a guess reads and writes a single row no matter how many rounds were played.
+ *
+ * The document starts with a format version, so the layout of the snapshot
+ * can change without breaking games that were stored before.
+ */
+public class SnapshotGameStore implements GameStore {
+    static final int FORMAT = 1;
+
+    private final StoredGameRepository repository;
+    private final ObjectMapper mapper;
+    private final ScoreVersions scoreVersions;
+
+    public SnapshotGameStore(StoredGameRepository repository, ObjectMapper mapper, ScoreVersions scoreVersions) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.scoreVersions = scoreVersions;
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return repository.findById(id).map(this::read);
+    }
+
+    @Override
+    public Game save(Game game) {
+        GameSnapshot snapshot = game.getId() == null
+            ? game.toSnapshot().withId(UUID.randomUUID())
+            : game.toSnapshot();
+
+        // Within a transaction the row read by findById comes from the persistence context, so
+        // saving it is flushed as a single UPDATE. A game whose row is gone was deleted meanwhile
+        StoredGame stored = game.getId() == null
+            ? new StoredGame(snapshot.id())
+            : repository.findById(snapshot.id())
+                .orElseThrow(() -> new OptimisticLockingFailureException("game " + snapshot.id() + " is not stored"));
+
+        // A game read in another transaction is checked against the row it is written over
+        if (stored.getVersion() != null && stored.getVersion() != game.getVersion()) {
+            throw new OptimisticLockingFailureException("game " + snapshot.id() + " was changed concurrently");
+        }
+        long version = stored.getVersion() == null ? 0 : stored.getVersion() + 1;
+
+        boolean scored = stored.getVersion() == null || stored.getScore() != snapshot.score();
+        stored.update(snapshot.username(), snapshot.score(), snapshot.randomLength(), write(snapshot));
+        repository.save(stored);
+        if (scored) {
+            scoreVersions.changed();
+        }
+        return Game.fromSnapshot(snapshot.withVersion(version));
+    }
+
+    @Override
+    public Optional<String> findVersion(UUID id) {
+        return repository.findVersionById(id).map(String::valueOf);
+    }
+
+    @Override
+    public String scoreVersion() {
+        return scoreVersions.current();
+    }
+
+    @Override
+    public List<Game> findTopScores() {
+        return repository.findTop20ByOrderByScoreDesc().stream()
+            .map(this::read)
+            .toList();
+    }
+
+    @Override
+    public List<Game> findTopScores(boolean randomLength) {
+        return repository.findTop20ByRandomLengthOrderByScoreDesc(randomLength).stream()
+            .map(this::read)
+            .toList();
+    }
+
+    @Override
+    public long countWithScoreAbove(int score) {
+        return repository.countByScoreGreaterThan(score);
+    }
+
+    @Override
+    public List<Standing> findAllStandings() {
+        return repository.findAllStandings();
+    }
+
+    private Game read(StoredGame stored) {
+        try {
+            Document document = mapper.readValue(stored.getDocument(), Document.class);
+            if (document.format() != FORMAT) {
+                throw new IllegalStateException("unknown game snapshot format: " + document.format());
+            }
+            // The row keeps the version, which moved after the document was written
+            return Game.fromSnapshot(document.game().withVersion(stored.getVersion()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("unreadable snapshot of game " + stored.getId(), e);
+        }
+    }
+
+    private String write(GameSnapshot snapshot) {
+        try {
+            return mapper.writeValueAsString(new Document(FORMAT, snapshot));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cannot write snapshot of game " + snapshot.id(), e);
+        }
+    }
+
+    record Document(int format, GameSnapshot game) {
+    }
+}
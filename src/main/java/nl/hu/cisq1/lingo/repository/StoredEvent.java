@@ -0,0 +1,50 @@
+package nl.hu.cisq1.lingo.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of a game. The sequence numbers the events of a game from one,
+ * and two writers appending the same number means one of them was too late.
+ */
+@Entity
+@Table(name = "game_events", uniqueConstraints = @UniqueConstraint(columnNames = {"gameId", "sequence"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StoredEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID gameId;
+
+    private long sequence;
+
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false, length = 1024)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    public StoredEvent(UUID gameId, long sequence, String type, String payload, Instant occurredAt) {
+        this.gameId = gameId;
+        this.sequence = sequence;
+        this.type = type;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+}
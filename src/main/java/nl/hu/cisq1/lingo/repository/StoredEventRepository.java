@@ -0,0 +1,17 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StoredEventRepository extends JpaRepository<StoredEvent, UUID> {
+    List<StoredEvent> findByGameIdAndSequenceGreaterThanOrderBySequence(UUID gameId, long sequence);
+
+    List<StoredEvent> findByGameIdOrderBySequence(UUID gameId);
+
+    @Query("SELECT MAX(e.sequence) FROM StoredEvent e WHERE e.gameId = :gameId")
+    Optional<Long> findLastSequence(UUID gameId);
+}
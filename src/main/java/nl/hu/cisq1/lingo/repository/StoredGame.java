@@ -0,0 +1,50 @@
+package nl.hu.cisq1.lingo.repository;
+
+import java.util.UUID;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * A game stored as a single row: the columns needed for the scoreboard next
+ * to a JSON document holding the whole aggregate.
+ */
+@Entity
+@Table(name = "game_snapshots")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StoredGame {
+    @Id
+    private UUID id;
+
+    @Version
+    private Long version;
+
+    private String username;
+    private int score;
+
+    @Column(nullable = false)
+    private boolean randomLength;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String document;
+
+    public StoredGame(UUID id) {
+        this.id = id;
+    }
+
+    public void update(String username, int score, boolean randomLength, String document) {
+        this.username = username;
+        this.score = score;
+        this.randomLength = randomLength;
+        this.document = document;
+    }
+}
@@ -0,0 +1,23 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.domain.Standing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StoredGameRepository extends JpaRepository<StoredGame, UUID> {
+    List<StoredGame> findTop20ByOrderByScoreDesc();
+
+    List<StoredGame> findTop20ByRandomLengthOrderByScoreDesc(boolean randomLength);
+
+    long countByScoreGreaterThan(int score);
+
+    @Query("SELECT g.version FROM StoredGame g WHERE g.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("SELECT new nl.hu.cisq1.lingo.domain.Standing(g.id, g.username, g.score, g.randomLength) FROM StoredGame g")
+    List<Standing> findAllStandings();
+}
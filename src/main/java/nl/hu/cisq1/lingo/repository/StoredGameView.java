@@ -0,0 +1,45 @@
+package nl.hu.cisq1.lingo.repository;
+
+import java.util.UUID;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * How a game is shown, rendered as a JSON document whenever the game
+ * changes, with the version it is shown with.
+ */
+@Entity
+@Table(name = "game_views")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StoredGameView {
+    @Id
+    private UUID id;
+
+    @Version
+    private Long revision;
+
+    private int format;
+
+    @Column(nullable = false)
+    private String version;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String document;
+
+    public StoredGameView(UUID id, int format, String version, String document) {
+        this.id = id;
+        this.format = format;
+        this.version = version;
+        this.document = document;
+    }
+}
@@ -0,0 +1,20 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.UUID;
+
+public interface StoredGameViewRepository extends JpaRepository<StoredGameView, UUID> {
+    /**
+     * Replaces the document of a view without reading it first, and returns
+     * whether there was one.
+     */
+    @Modifying
+    @Query("""
+        UPDATE StoredGameView v
+        SET v.format = :format, v.version = :version, v.document = :document, v.revision = v.revision + 1
+        WHERE v.id = :id""")
+    int update(UUID id, int format, String version, String document);
+}
@@ -0,0 +1,545 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.GameSnapshot;
+import nl.hu.cisq1.lingo.domain.Round;
+import nl.hu.cisq1.lingo.domain.Standing;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the games that are being played in memory and writes their changes
+ * to the underlying store in the background, so a guess does not wait for
+ * the database.
+ *
+ * Every game is kept as a snapshot of its current round, score and version,
+ * and each read hands out a fresh copy. Rounds that end are kept apart until
+ * they are written once, after which the store pages them, so reading,
+ * saving and writing a game costs the same in every round. A copy that is
+ * saved after the game was changed through another copy is rejected as a
+ * concurrent change. A save in a transaction is staged and only replaces the
+ * snapshot once that transaction commits; until then the transaction reads
+ * its own change, other saves of the game are rejected and everyone else
+ * reads the game as it was. So a transaction that rolls back leaves the game
+ * untouched, and running its work again starts afresh. Changed games are
+ * written in batches on every flush, and straight away when the
+ * {@link Durability} asks for it. Once written, games that were not used
+ * for the idle timeout are dropped, as are the least recently used ones when
+ * there are more than the capacity.
+ *
+ * New games are passed on to the store directly, which hands out their id.
+ * Queries over all games go to the store and only see what was written.
+ */
+@Slf4j
+public class WriteBehindGameStore implements GameStore, AutoCloseable {
+    private final GameStore store;
+    private final TransactionTemplate transactions;
+    private final Durability durability;
+    private final int capacity;
+    private final Duration idleTimeout;
+    private final int batchSize;
+    private final Clock clock;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private ScheduledExecutorService flusher;
+
+    public WriteBehindGameStore(
+            GameStore store,
+            TransactionTemplate transactions,
+            Durability durability,
+            int capacity,
+            Duration idleTimeout,
+            int batchSize,
+            Clock clock) {
+        this.store = store;
+        this.transactions = transactions;
+        this.durability = durability;
+        this.capacity = capacity;
+        this.idleTimeout = idleTimeout;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    /**
+     * When games are written besides the periodic flush.
+     */
+    public enum Durability {
+        INTERVAL,
+        ROUND_END,
+        GAME_OVER;
+
+        boolean writesNow(GameState state) {
+            return switch (this) {
+                case INTERVAL -> false;
+                case ROUND_END -> state == GameState.WAITING_FOR_ROUND || state == GameState.ELIMINATED;
+                case GAME_OVER -> state == GameState.ELIMINATED;
+            };
+        }
+    }
+
+    public synchronized void start(Duration interval) {
+        if (flusher != null) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        while (true) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                Optional<Entry> loaded = load(id);
+                if (loaded.isEmpty()) {
+                    return Optional.empty();
+                }
+
+                Entry existing = entries.putIfAbsent(id, loaded.get());
+                entry = existing == null ? loaded.get() : existing;
+                if (existing == null && entries.size() > capacity) {
+                    requestFlush();
+                }
+            }
+
+            synchronized (entry) {
+                if (!entry.evicted) {
+                    entry.lastUsed = clock.instant();
+                    return Optional.of(Game.fromSnapshot(entry.current(transaction(false)), entry.storedRounds));
+                }
+            }
+        }
+    }
+
+    @Override
+    public Game save(Game game) {
+        if (game.getId() == null) {
+            return store.save(game);
+        }
+
+        Entry entry = entries.get(game.getId());
+        if (entry == null) {
+            throw concurrentChange(game.getId());
+        }
+
+        Object transaction = transaction(true);
+        GameSnapshot snapshot;
+        synchronized (entry) {
+            if (entry.evicted || (entry.staged != null && entry.stagedBy != transaction)) {
+                throw concurrentChange(game.getId());
+            }
+            GameSnapshot current = entry.current(transaction);
+            if (game.getVersion() != current.version()) {
+                throw concurrentChange(game.getId());
+            }
+
+            snapshot = entry.unwritten(game).withVersion(current.version() + 1);
+            entry.lastUsed = clock.instant();
+            if (transaction == null) {
+                entry.publish(snapshot);
+            } else {
+                stage(entry, snapshot, transaction);
+            }
+        }
+
+        if (durability.writesNow(game.getState())) {
+            // Joins the transaction of the caller, which answers once the game is stored
+            transactions.executeWithoutResult(status -> write(entry, transaction, true));
+        }
+        synchronized (entry) {
+            return Game.fromSnapshot(entry.current(transaction), entry.storedRounds);
+        }
+    }
+
+    @Override
+    public List<Round> findPastRounds(UUID id, int after, int limit) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return store.findPastRounds(id, after, limit);
+        }
+
+        GameSnapshot snapshot;
+        int storedRounds;
+        synchronized (entry) {
+            snapshot = entry.current(transaction(false));
+            storedRounds = entry.storedRounds;
+        }
+
+        List<Round> rounds = new ArrayList<>();
+        if (after < storedRounds) {
+            store.findPastRounds(id, after, limit).stream()
+                .filter(round -> round.getNumber() <= storedRounds)
+                .forEach(rounds::add);
+        }
+        // Rounds that ended since the last write are only known here
+        if (rounds.size() < limit) {
+            rounds.addAll(Game.fromSnapshot(snapshot, storedRounds).findPastRounds(Math.max(after, storedRounds), limit - rounds.size()));
+        }
+        return rounds;
+    }
+
+    @Override
+    public boolean isTransactional() {
+        // Games kept here are only published on commit, but durable writes go straight to the store
+        return store.isTransactional();
+    }
+
+    @Override
+    public Optional<String> findVersion(UUID id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return store.findVersion(id);
+        }
+
+        synchronized (entry) {
+            // The version of the store only moves when a game is written, so the
+            // number of saves since loading tells the unwritten changes apart
+            long generation = entry.current(transaction(false)).version();
+            return Optional.of(generation == 0 ? entry.loadedVersion : entry.loadedVersion + "." + generation);
+        }
+    }
+
+    @Override
+    public String scoreVersion() {
+        return store.scoreVersion();
+    }
+
+    @Override
+    public List<Game> findTopScores() {
+        return store.findTopScores();
+    }
+
+    @Override
+    public List<Game> findTopScores(boolean randomLength) {
+        return store.findTopScores(randomLength);
+    }
+
+    @Override
+    public long countWithScoreAbove(int score) {
+        return store.countWithScoreAbove(score);
+    }
+
+    @Override
+    public List<Standing> findAllStandings() {
+        return store.findAllStandings();
+    }
+
+    /**
+     * Writes every changed game and drops the games that are no longer needed.
+     */
+    public synchronized void flush() {
+        pending.set(false);
+
+        List<Entry> changed = entries.values().stream()
+            .filter(Entry::isChanged)
+            .toList();
+        for (int from = 0; from < changed.size(); from += batchSize) {
+            writeBatch(changed.subList(from, Math.min(from + batchSize, changed.size())));
+        }
+
+        evict();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+
+        long unwritten = entries.values().stream().filter(Entry::isChanged).count();
+        if (unwritten > 0) {
+            log.error("{} games could not be written before shutting down", unwritten);
+        }
+
+        // The store is only known to the container as this one, so it is closed from here
+        if (store instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Optional<Entry> load(UUID id) {
+        // Copying the current round reads its guesses, which may be loaded lazily
+        return transactions.execute(status -> store.findById(id, FetchPlan.CURRENT_HISTORY).map(game -> new Entry(
+            game.toCurrentSnapshot().withVersion(0),
+            pastRoundsOf(game),
+            game.getVersion(),
+            store.findVersion(id).orElse("0"),
+            clock.instant()
+        )));
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        try {
+            transactions.executeWithoutResult(status -> batch.forEach(entry -> write(entry, null, false)));
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("could not write a batch of {} games, writing them one by one", batch.size(), e);
+                batch.forEach(entry -> writeBatch(List.of(entry)));
+            } else if (e instanceof OptimisticLockingFailureException) {
+                Entry entry = batch.get(0);
+                log.error("game {} was changed outside of this instance, dropping its unwritten changes", entry.snapshot.id(), e);
+                drop(entry);
+            } else {
+                log.warn("could not write game {}, retrying with the next flush", batch.get(0).snapshot.id(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes the game as the given transaction sees it, with the rounds that
+     * ended since its last write.
+     */
+    private void write(Entry entry, Object transaction, boolean waitForOtherWrite) {
+        GameSnapshot snapshot;
+        long storedVersion;
+        int storedRounds;
+        synchronized (entry) {
+            if (!entry.beginWrite(waitForOtherWrite, transaction)) {
+                return;
+            }
+            snapshot = entry.current(transaction);
+            storedVersion = entry.storedVersion;
+            storedRounds = entry.storedRounds;
+        }
+
+        Game saved;
+        try {
+            saved = store.saveCopy(Game.fromSnapshot(snapshot.withVersion(storedVersion), storedRounds));
+        } catch (RuntimeException e) {
+            synchronized (entry) {
+                entry.endWrite(false, snapshot.version(), storedVersion, 0);
+            }
+            throw e;
+        }
+
+        // The store assigns the next version when the transaction is flushed
+        int ended = snapshot.pastRounds().size();
+        afterCompletion(committed -> {
+            synchronized (entry) {
+                entry.endWrite(committed, snapshot.version(), committed ? saved.getVersion() : storedVersion, committed ? ended : 0);
+            }
+        });
+    }
+
+    private void evict() {
+        Instant idleSince = clock.instant().minus(idleTimeout);
+        entries.values().stream()
+            .filter(entry -> entry.lastUsed.isBefore(idleSince))
+            .forEach(this::evictIfWritten);
+
+        int excess = entries.size() - capacity;
+        if (excess > 0) {
+            entries.values().stream()
+                .sorted(Comparator.comparing(entry -> entry.lastUsed))
+                .limit(excess)
+                .forEach(this::evictIfWritten);
+        }
+    }
+
+    private void evictIfWritten(Entry entry) {
+        synchronized (entry) {
+            if (!entry.isChanged() && !entry.writing && entry.staged == null) {
+                drop(entry);
+            }
+        }
+    }
+
+    private void drop(Entry entry) {
+        synchronized (entry) {
+            entry.evicted = true;
+            entries.remove(entry.snapshot.id(), entry);
+        }
+    }
+
+    private void requestFlush() {
+        if (flusher != null && pending.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("could not flush games", e);
+        }
+    }
+
+    private static void stage(Entry entry, GameSnapshot snapshot, Object transaction) {
+        boolean first = entry.staged == null;
+        entry.staged = snapshot;
+        entry.stagedBy = transaction;
+        if (first) {
+            afterCompletion(committed -> {
+                synchronized (entry) {
+                    if (committed) {
+                        entry.publish(entry.staged);
+                    }
+                    entry.staged = null;
+                    entry.stagedBy = null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Tells the transactions that stage changes apart, or returns null
+     * outside of a transaction, where saves take effect right away.
+     */
+    private Object transaction(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        Object transaction = TransactionSynchronizationManager.getResource(this);
+        if (transaction == null && create) {
+            transaction = new Object();
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            afterCompletion(committed -> TransactionSynchronizationManager.unbindResourceIfPossible(this));
+        }
+        return transaction;
+    }
+
+    private static void afterCompletion(Consumer<Boolean> completion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    completion.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            completion.accept(true);
+        }
+    }
+
+    /**
+     * Number of rounds the game played before its current one.
+     */
+    private static int pastRoundsOf(Game game) {
+        return game.getCurrentRound() == null ? 0 : Math.max(0, game.getCurrentRound().getNumber() - 1);
+    }
+
+    private static OptimisticLockingFailureException concurrentChange(UUID id) {
+        return new OptimisticLockingFailureException("game " + id + " was changed concurrently");
+    }
+
+    /**
+     * A game kept in memory: its snapshot only holds the past rounds that
+     * ended since its last write, which follow the rounds that are stored.
+     */
+    private static final class Entry {
+        private final String loadedVersion;
+        private GameSnapshot snapshot;
+        private int storedRounds;
+        private GameSnapshot staged;
+        private Object stagedBy;
+        private long generation;
+        private long written;
+        private long storedVersion;
+        private Instant lastUsed;
+        private boolean writing;
+        private boolean evicted;
+
+        private Entry(GameSnapshot snapshot, int storedRounds, long storedVersion, String loadedVersion, Instant lastUsed) {
+            this.snapshot = snapshot;
+            this.storedRounds = storedRounds;
+            this.storedVersion = storedVersion;
+            this.loadedVersion = loadedVersion;
+            this.lastUsed = lastUsed;
+        }
+
+        private synchronized boolean isChanged() {
+            return generation > written;
+        }
+
+        private GameSnapshot current(Object transaction) {
+            return staged != null && stagedBy == transaction ? staged : snapshot;
+        }
+
+        /**
+         * Snapshot of a copy that keeps the past rounds it holds that are
+         * not written yet; a copy handed out before a write holds more.
+         */
+        private GameSnapshot unwritten(Game game) {
+            GameSnapshot snapshot = game.toSnapshot();
+            List<GameSnapshot.RoundSnapshot> ended = snapshot.pastRounds();
+            int unwritten = Math.min(ended.size(), Math.max(0, pastRoundsOf(game) - storedRounds));
+            return snapshot.withPastRounds(List.copyOf(ended.subList(ended.size() - unwritten, ended.size())));
+        }
+
+        private void publish(GameSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.generation = snapshot.version();
+        }
+
+        private boolean beginWrite(boolean waitForOtherWrite, Object transaction) {
+            while (writing) {
+                if (!waitForOtherWrite) {
+                    return false;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while waiting to write game " + snapshot.id(), e);
+                }
+            }
+
+            if (evicted || current(transaction).version() <= written) {
+                return false;
+            }
+            writing = true;
+            return true;
+        }
+
+        private void endWrite(boolean committed, long generation, long storedVersion, int writtenRounds) {
+            writing = false;
+            if (committed) {
+                this.written = Math.max(written, generation);
+                this.storedVersion = storedVersion;
+                // The rounds that were written are the oldest that were kept
+                this.snapshot = withoutOldest(snapshot, writtenRounds);
+                this.staged = staged == null ? null : withoutOldest(staged, writtenRounds);
+                this.storedRounds += writtenRounds;
+            }
+            notifyAll();
+        }
+
+        private static GameSnapshot withoutOldest(GameSnapshot snapshot, int rounds) {
+            List<GameSnapshot.RoundSnapshot> ended = snapshot.pastRounds();
+            return snapshot.withPastRounds(List.copyOf(ended.subList(Math.min(rounds, ended.size()), ended.size())));
+        }
+    }
+}
@@ -1,20 +1,46 @@
 package nl.hu.cisq1.lingo.words.application;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import nl.hu.cisq1.lingo.words.data.WordRepository;
+import nl.hu.cisq1.lingo.words.domain.WordSnapshot;
 import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
 @Service
 @Transactional
 public class WordService {
     private final WordRepository wordRepository;
+    private final boolean sampleInMemory;
+    private volatile WordSnapshot snapshot;
 
-    public WordService(WordRepository wordRepository) {
+    public WordService(WordRepository wordRepository, @Value("${lingo.words.sampling:database}") String sampling) {
         this.wordRepository = wordRepository;
+        this.sampleInMemory = switch (sampling) {
+            case "database" -> false;
+            case "memory" -> true;
+            default -> throw new IllegalStateException("unknown word sampling mode: " + sampling);
+        };
+    }
+
+    @PostConstruct
+    void loadForSampling() {
+        // Loaded at startup, so no request pays for reading the whole table
+        if (this.sampleInMemory) {
+            this.snapshot();
+        }
     }
 
+    @Transactional(Transactional.TxType.SUPPORTS)
     public String provideRandomWord(Integer length) {
+        if (this.sampleInMemory) {
+            return this.snapshot().randomWord(length, ThreadLocalRandom.current());
+        }
+
         return this.wordRepository
                 .findRandomWordByLength(length)
                 .orElseThrow(() -> new WordLengthNotSupportedException(length))
@@ -24,4 +50,25 @@ public class WordService {
     public boolean wordExists(String word) {
         return this.wordRepository.existsById(word);
     }
+
+    public WordSnapshot snapshot() {
+        WordSnapshot loaded = this.snapshot;
+        if (loaded == null) {
+            synchronized (this) {
+                if (this.snapshot == null) {
+                    this.snapshot = this.loadSnapshot();
+                }
+                loaded = this.snapshot;
+            }
+        }
+        return loaded;
+    }
+
+    public WordSnapshot loadSnapshot() {
+        return WordSnapshot.of(this.allWords());
+    }
+
+    public List<String> allWords() {
+        return this.wordRepository.findAllValues();
+    }
 }
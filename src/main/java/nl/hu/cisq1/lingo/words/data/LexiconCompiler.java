@@ -0,0 +1,87 @@
+package nl.hu.cisq1.lingo.words.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles a word list into the binary format read by {@link MappedLexicon}.
+ *
+ * Used as a build step (see: make lexicon), with the same word selection
+ * as development/words/index.js:
+ *
+ *       java -cp target/classes nl.hu.cisq1.lingo.words.data.LexiconCompiler <word list> <lexicon>
+ */
+public final class LexiconCompiler {
+    private static final Pattern LINGO_WORDS = Pattern.compile("^[a-z]{5,7}$");
+    private static final Pattern LEXICON_WORDS = Pattern.compile("^[a-z]+$");
+
+    private LexiconCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: LexiconCompiler <word list> <lexicon>");
+            System.exit(1);
+        }
+
+        List<String> words = Files.readAllLines(Path.of(args[0])).stream()
+                .filter(word -> LINGO_WORDS.matcher(word).matches())
+                .toList();
+
+        compile(words, Path.of(args[1]));
+        System.out.println("compiled " + words.size() + " words into " + args[1]);
+    }
+
+    public static void compile(Collection<String> words, Path target) throws IOException {
+        List<SortedSet<String>> buckets = new ArrayList<>();
+        for (int length = 0; length <= MappedLexicon.MAX_LENGTH; length++) {
+            buckets.add(new TreeSet<>());
+        }
+
+        for (String word : words) {
+            if (word.length() <= MappedLexicon.MAX_LENGTH && LEXICON_WORDS.matcher(word).matches()) {
+                buckets.get(word.length()).add(word);
+            }
+        }
+
+        List<Integer> lengths = new ArrayList<>();
+        int recordBytes = 0;
+        for (int length = 1; length <= MappedLexicon.MAX_LENGTH; length++) {
+            if (!buckets.get(length).isEmpty()) {
+                lengths.add(length);
+                recordBytes += buckets.get(length).size() * length;
+            }
+        }
+
+        int headerBytes = 12 + lengths.size() * 12;
+        ByteBuffer buffer = ByteBuffer.allocate(headerBytes + recordBytes);
+        buffer.putInt(MappedLexicon.MAGIC);
+        buffer.putInt(MappedLexicon.VERSION);
+        buffer.putInt(lengths.size());
+
+        int offset = headerBytes;
+        for (int length : lengths) {
+            buffer.putInt(length);
+            buffer.putInt(buckets.get(length).size());
+            buffer.putInt(offset);
+            offset += buckets.get(length).size() * length;
+        }
+
+        for (int length : lengths) {
+            for (String word : buckets.get(length)) {
+                buffer.put(word.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+
+        Files.write(target, buffer.array());
+    }
+}
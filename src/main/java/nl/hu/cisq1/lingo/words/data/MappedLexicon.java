@@ -0,0 +1,122 @@
+package nl.hu.cisq1.lingo.words.data;
+
+import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * Read-only word list backed by a memory-mapped lexicon file.
+ *
+ * Layout (big-endian):
+ *   magic "LNGX", int version, int bucket count,
+ *   per bucket: int word length, int word count, int offset of the first record,
+ *   followed by the records: fixed-width ASCII words, sorted per bucket.
+ *
+ * Lookups read straight from the mapping, so the words never live on the heap
+ * and every JVM on the host shares the same pages. See {@link LexiconCompiler}.
+ */
+public final class MappedLexicon {
+    static final int MAGIC = 0x4C4E4758;
+    static final int VERSION = 1;
+    static final int MAX_LENGTH = 64;
+
+    private final ByteBuffer buffer;
+    private final int[] counts = new int[MAX_LENGTH + 1];
+    private final int[] offsets = new int[MAX_LENGTH + 1];
+
+    private MappedLexicon(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.limit() < 12 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("not a lexicon file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("unsupported lexicon version: " + buffer.getInt(4));
+        }
+
+        int buckets = buffer.getInt(8);
+        if (buckets < 0 || 12 + buckets * 12L > buffer.limit()) {
+            throw new IllegalStateException("truncated lexicon: " + buckets + " buckets do not fit");
+        }
+
+        for (int i = 0; i < buckets; i++) {
+            int header = 12 + i * 12;
+            int length = buffer.getInt(header);
+            int count = buffer.getInt(header + 4);
+            int offset = buffer.getInt(header + 8);
+
+            // Sizes are checked as longs, so a damaged count cannot overflow past the check
+            if (length <= 0 || length > MAX_LENGTH) {
+                throw new IllegalStateException("corrupt lexicon: unsupported word length " + length);
+            }
+            if (count < 0 || offset < 0 || offset + (long) count * length > buffer.limit()) {
+                throw new IllegalStateException("truncated lexicon: the words of length " + length + " do not fit");
+            }
+            this.counts[length] = count;
+            this.offsets[length] = offset;
+        }
+    }
+
+    public static MappedLexicon open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedLexicon(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public boolean contains(String word) {
+        if (word == null || size(word.length()) == 0) {
+            return false;
+        }
+
+        int length = word.length();
+        int low = 0;
+        int high = counts[length] - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compare(offsets[length] + mid * length, word);
+
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String randomWord(int length, RandomGenerator random) {
+        if (size(length) == 0) {
+            throw new WordLengthNotSupportedException(length);
+        }
+
+        byte[] letters = new byte[length];
+        buffer.get(offsets[length] + random.nextInt(counts[length]) * length, letters);
+        return new String(letters, StandardCharsets.US_ASCII);
+    }
+
+    public int size(int length) {
+        if (length < 0 || length > MAX_LENGTH) {
+            return 0;
+        }
+        return counts[length];
+    }
+
+    private int compare(int record, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            int difference = (buffer.get(record + i) & 0xFF) - word.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+}
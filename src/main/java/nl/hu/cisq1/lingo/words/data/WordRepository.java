@@ -4,6 +4,7 @@ import nl.hu.cisq1.lingo.words.domain.Word;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +15,7 @@ import java.util.Optional;
 public interface WordRepository extends JpaRepository<Word, String> {
     @Query(nativeQuery=true, value="SELECT * FROM words w WHERE w.length = ?1 ORDER BY random() LIMIT 1")
     Optional<Word> findRandomWordByLength(Integer length);
+
+    @Query("SELECT w.value FROM words w")
+    List<String> findAllValues();
 }
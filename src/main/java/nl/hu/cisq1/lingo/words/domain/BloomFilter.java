@@ -0,0 +1,85 @@
+package nl.hu.cisq1.lingo.words.domain;
+
+import java.util.Collection;
+
+/**
+ * Probabilistic set of words: {@link #mightContain(String)} never returns
+ * false for a word that was added, and returns true for other words with
+ * roughly the configured false-positive rate.
+ */
+public final class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bits = new long[(int) ((bitCount + 63) / 64)];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter of(Collection<String> words, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("false-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        int expected = Math.max(1, words.size());
+        long bitCount = Math.max(64, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+
+        BloomFilter filter = new BloomFilter(bitCount, hashCount);
+        for (String word : words) {
+            filter.add(word);
+        }
+        return filter;
+    }
+
+    public boolean mightContain(String word) {
+        long hash = hash(word);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(first + i * second) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private void add(String word) {
+        long hash = hash(word);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(first + i * second) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // FNV-1a over the characters, spread with the MurmurHash3 finalizer
+    private static long hash(String word) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,123 @@
+package nl.hu.cisq1.lingo.words.domain;
+
+import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable, allocation-free view of the word list.
+ *
+ * Every word of at most {@value #MAX_LENGTH} lowercase letters is packed into
+ * a long (5 bits per letter) and stored in a sorted array per word length,
+ * so a lookup is a binary search over primitives and drawing a random word
+ * is a single index into the bucket.
+ */
+public final class WordSnapshot {
+    static final int MAX_LENGTH = 12;
+    private static final int BITS_PER_LETTER = 5;
+
+    private final long[][] buckets;
+
+    private WordSnapshot(long[][] buckets) {
+        this.buckets = buckets;
+    }
+
+    public static WordSnapshot of(Collection<String> words) {
+        long[][] buckets = new long[MAX_LENGTH + 1][];
+        int[] sizes = new int[MAX_LENGTH + 1];
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            buckets[length] = new long[0];
+        }
+
+        for (String word : words) {
+            long key = pack(word);
+            if (key < 0) {
+                continue;
+            }
+
+            int length = word.length();
+            if (sizes[length] == buckets[length].length) {
+                buckets[length] = Arrays.copyOf(buckets[length], Math.max(16, sizes[length] * 2));
+            }
+            buckets[length][sizes[length]++] = key;
+        }
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            buckets[length] = distinctSorted(buckets[length], sizes[length]);
+        }
+        return new WordSnapshot(buckets);
+    }
+
+    public boolean contains(String word) {
+        long key = pack(word);
+        if (key < 0) {
+            return false;
+        }
+        return Arrays.binarySearch(buckets[word.length()], key) >= 0;
+    }
+
+    public String randomWord(int length, RandomGenerator random) {
+        if (size(length) == 0) {
+            throw new WordLengthNotSupportedException(length);
+        }
+
+        long[] bucket = buckets[length];
+        return unpack(bucket[random.nextInt(bucket.length)], length);
+    }
+
+    public int size(int length) {
+        if (length < 0 || length > MAX_LENGTH) {
+            return 0;
+        }
+        return buckets[length].length;
+    }
+
+    public int size() {
+        int total = 0;
+        for (long[] bucket : buckets) {
+            total += bucket.length;
+        }
+        return total;
+    }
+
+    static long pack(String word) {
+        if (word == null || word.isEmpty() || word.length() > MAX_LENGTH) {
+            return -1;
+        }
+
+        long key = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char letter = word.charAt(i);
+            if (letter < 'a' || letter > 'z') {
+                return -1;
+            }
+            key = (key << BITS_PER_LETTER) | (letter - 'a' + 1);
+        }
+        return key;
+    }
+
+    static String unpack(long key, int length) {
+        char[] letters = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            letters[i] = (char) ('a' - 1 + (key & 0x1F));
+            key >>>= BITS_PER_LETTER;
+        }
+        return new String(letters);
+    }
+
+    private static long[] distinctSorted(long[] keys, int size) {
+        long[] sorted = Arrays.copyOf(keys, size);
+        Arrays.sort(sorted);
+
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+}
@@ -0,0 +1,79 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.words.domain.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BloomFilterDictionaryTest {
+    private Dictionary delegate;
+    private MeterRegistry registry;
+    private BloomFilterDictionary dictionary;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(Dictionary.class);
+        registry = new SimpleMeterRegistry();
+        dictionary = new BloomFilterDictionary(BloomFilter.of(List.of("bruhh", "kroket"), 0.01), delegate, registry);
+    }
+
+    @Test
+    @DisplayName("Definite misses are rejected without asking the delegate")
+    void missSkipsDelegate() {
+        assertFalse(dictionary.exists("zzzzz"));
+
+        verifyNoInteractions(delegate);
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    @DisplayName("Possible hits are confirmed by the delegate")
+    void hitIsConfirmedByDelegate() {
+        when(delegate.exists("bruhh")).thenReturn(true);
+
+        assertTrue(dictionary.exists("bruhh"));
+
+        verify(delegate).exists("bruhh");
+        assertEquals(1, count("hit"));
+    }
+
+    @Test
+    @DisplayName("Possible hits the delegate rejects are counted as false positives")
+    void falsePositiveIsCounted() {
+        when(delegate.exists("kroket")).thenReturn(false);
+
+        assertFalse(dictionary.exists("kroket"));
+
+        assertEquals(1, count("false_positive"));
+        assertEquals(0, count("hit"));
+    }
+
+    @Test
+    @DisplayName("Null is rejected as a miss")
+    void nullIsMiss() {
+        assertFalse(dictionary.exists(null));
+
+        verifyNoInteractions(delegate);
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    @DisplayName("Random word retrieval delegates")
+    void randomWordDelegates() {
+        when(delegate.randomWord(6)).thenReturn("kroket");
+
+        assertEquals("kroket", dictionary.randomWord(6));
+    }
+
+    private double count(String result) {
+        return registry.counter(BloomFilterDictionary.METRIC, "result", result).count();
+    }
+}
@@ -0,0 +1,48 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CommitStageConfigurationTest {
+    private final CommitStageConfiguration configuration = new CommitStageConfiguration();
+    private final GameStore gameStore = mock(GameStore.class);
+
+    @Test
+    @DisplayName("Group commit is rejected for a store that keeps saves of rolled back work")
+    void groupCommitNeedsTransactionalStore() {
+        when(gameStore.isTransactional()).thenReturn(false);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> commitStage(true));
+
+        assertTrue(failure.getMessage().contains("transactional"));
+    }
+
+    @Test
+    @DisplayName("Commits one by one work with any store")
+    void singleCommitsWithAnyStore() {
+        when(gameStore.isTransactional()).thenReturn(false);
+
+        assertInstanceOf(RetryingCommitStage.class, commitStage(false));
+    }
+
+    private CommitStage commitStage(boolean groupCommit) {
+        return configuration.commitStage(
+            groupCommit,
+            Duration.ofMillis(5),
+            64,
+            3,
+            Duration.ofMillis(10),
+            mock(PlatformTransactionManager.class),
+            gameStore,
+            new SimpleMeterRegistry()
+        );
+    }
+}
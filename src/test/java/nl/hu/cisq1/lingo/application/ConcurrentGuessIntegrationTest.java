@@ -0,0 +1,102 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.exceptions.InvalidActionException;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.retry.max-attempts=5",
+    "lingo.games.retry.backoff=5ms"
+})
+@Import(TestDatabase.class)
+class ConcurrentGuessIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+    private static final GuessRequest WRONG = new GuessRequest("zzzzz");
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5);
+    }
+
+    @Test
+    @DisplayName("Simultaneous guesses on one game are all kept")
+    void simultaneousGuessesAreKept() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+
+        // Each conflict means another guess was kept, so five attempts are enough for five guesses
+        List<CompletableFuture<GuessResponse>> guesses = guessConcurrently(gameId, 5);
+
+        guesses.forEach(CompletableFuture::join);
+        assertEquals(5, gameService.getGame(gameId).currentRound().attempts().size());
+    }
+
+    @Test
+    @DisplayName("Attempts used equal the guesses accepted when many threads guess")
+    void attemptsEqualAcceptedGuesses() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+
+        List<CompletableFuture<GuessResponse>> guesses = guessConcurrently(gameId, 16);
+
+        int accepted = 0;
+        for (CompletableFuture<GuessResponse> guess : guesses) {
+            try {
+                guess.join();
+                accepted++;
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof InvalidActionException
+                    || e.getCause() instanceof OptimisticLockingFailureException, e.getCause().toString());
+            }
+        }
+        int attemptsUsed = gameService.getGame(gameId).currentRound().attempts().size();
+        assertEquals(accepted, attemptsUsed);
+        assertTrue(attemptsUsed <= 5);
+    }
+
+    private List<CompletableFuture<GuessResponse>> guessConcurrently(UUID gameId, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<GuessResponse>> guesses = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                guesses.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return gameService.makeGuess(gameId, WRONG);
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(guesses.toArray(CompletableFuture[]::new)).exceptionally(failure -> null).join();
+            return guesses;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.Standing;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
+import nl.hu.cisq1.lingo.repository.GameRepository;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.storage=tables",
+    "lingo.leaderboard.mode=database"
+})
+@Import(TestDatabase.class)
+class DatabaseLeaderboardIntegrationTest {
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset();
+    }
+
+    @Test
+    @DisplayName("The top of one mode is not crowded out by better games of the other")
+    void topOfModeIsFull() {
+        for (int i = 0; i < 25; i++) {
+            gameRepository.save(game("Random" + i, 100 + i, true));
+        }
+        for (int i = 0; i < 3; i++) {
+            gameRepository.save(game("Sequential" + i, 10 + i, false));
+        }
+
+        List<Standing> sequential = leaderboard.top(ScoreWindow.ALL, false);
+        List<Standing> random = leaderboard.top(ScoreWindow.ALL, true);
+
+        assertEquals(List.of("Sequential2", "Sequential1", "Sequential0"),
+            sequential.stream().map(Standing::username).toList());
+        assertEquals(Leaderboard.SIZE, random.size());
+        assertTrue(random.stream().allMatch(Standing::randomLength));
+    }
+
+    private static Game game(String username, int score, boolean randomLength) {
+        return new Game(null, username, score, GameState.WAITING_FOR_ROUND, null, new ArrayList<>(), 5, randomLength);
+    }
+}
@@ -0,0 +1,107 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.words.application.WordService;
+import nl.hu.cisq1.lingo.words.data.LexiconCompiler;
+import nl.hu.cisq1.lingo.words.domain.WordSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DictionaryConfigurationTest {
+    private static final Path LEXICON = Path.of("missing.lex");
+
+    private final DictionaryConfiguration configuration = new DictionaryConfiguration();
+
+    @Test
+    @DisplayName("Database mode uses the dictionary service")
+    void databaseModeUsesDictionaryService() {
+        DictionaryService dictionaryService = mock(DictionaryService.class);
+        WordService wordService = mock(WordService.class);
+
+        Dictionary dictionary = dictionary("database", LEXICON, false, dictionaryService, wordService);
+
+        assertSame(dictionaryService, dictionary);
+        verifyNoInteractions(wordService);
+    }
+
+    @Test
+    @DisplayName("Memory mode uses the word service snapshot")
+    void memoryModeUsesSnapshot() {
+        WordService wordService = mock(WordService.class);
+        when(wordService.snapshot()).thenReturn(WordSnapshot.of(List.of("bruhh")));
+
+        Dictionary dictionary = dictionary("memory", LEXICON, false, mock(DictionaryService.class), wordService);
+
+        assertInstanceOf(InMemoryDictionary.class, dictionary);
+        assertTrue(dictionary.exists("bruhh"));
+        verify(wordService).snapshot();
+    }
+
+    @Test
+    @DisplayName("Lexicon mode maps the configured lexicon file")
+    void lexiconModeMapsFile(@TempDir Path directory) throws IOException {
+        Path lexicon = directory.resolve("lingo.lex");
+        LexiconCompiler.compile(List.of("bruhh"), lexicon);
+        WordService wordService = mock(WordService.class);
+
+        Dictionary dictionary = dictionary("lexicon", lexicon, false, mock(DictionaryService.class), wordService);
+
+        assertInstanceOf(LexiconDictionary.class, dictionary);
+        assertTrue(dictionary.exists("bruhh"));
+        verifyNoInteractions(wordService);
+    }
+
+    @Test
+    @DisplayName("Lexicon mode fails fast when the file is missing")
+    void lexiconModeRequiresFile() {
+        assertThrows(UncheckedIOException.class,
+            () -> dictionary("lexicon", LEXICON, false, mock(DictionaryService.class), mock(WordService.class)));
+    }
+
+    @Test
+    @DisplayName("Bloom filter is built from all words in front of the selected dictionary")
+    void bloomFilterWrapsDictionary() {
+        DictionaryService dictionaryService = mock(DictionaryService.class);
+        WordService wordService = mock(WordService.class);
+        when(wordService.allWords()).thenReturn(List.of("bruhh"));
+        when(dictionaryService.exists("bruhh")).thenReturn(true);
+
+        Dictionary dictionary = dictionary("database", LEXICON, true, dictionaryService, wordService);
+
+        assertInstanceOf(BloomFilterDictionary.class, dictionary);
+        assertTrue(dictionary.exists("bruhh"));
+        assertFalse(dictionary.exists("zzzzz"));
+        verify(dictionaryService, never()).exists("zzzzz");
+    }
+
+    @Test
+    @DisplayName("Bloom filter is rejected in front of the lexicon, which has words the database lacks")
+    void bloomFilterRejectsLexicon() {
+        WordService wordService = mock(WordService.class);
+
+        assertThrows(IllegalStateException.class,
+            () -> dictionary("lexicon", LEXICON, true, mock(DictionaryService.class), wordService));
+        verifyNoInteractions(wordService);
+    }
+
+    @Test
+    @DisplayName("Unknown mode is rejected")
+    void unknownModeIsRejected() {
+        assertThrows(IllegalStateException.class,
+            () -> dictionary("carrier-pigeon", LEXICON, false, mock(DictionaryService.class), mock(WordService.class)));
+    }
+
+    private Dictionary dictionary(String mode, Path lexicon, boolean bloom, DictionaryService dictionaryService, WordService wordService) {
+        return configuration.dictionary(mode, lexicon, bloom, 0.01, dictionaryService, wordService, new SimpleMeterRegistry());
+    }
+}
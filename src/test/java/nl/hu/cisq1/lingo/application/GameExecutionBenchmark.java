@@ -0,0 +1,108 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.LingoApplication;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.domain.exceptions.InvalidActionException;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.words.data.WordRepository;
+import nl.hu.cisq1.lingo.words.domain.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * Compares how many guesses per second are handled when commands run on the
+ * request thread versus in a mailbox per game, with many threads guessing
+ * on any of 10,000 active games. A game that is over is replaced by a new one.
+ *
+ * Runs against the in-memory H2 database of the "ci" profile. Run with:
+ *
+ *       make benchmark BENCHMARK=GameExecutionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class GameExecutionBenchmark {
+    private static final GuessRequest WRONG = new GuessRequest("zzzzz");
+
+    @Param({"direct", "mailbox"})
+    public String execution;
+
+    @Param({"10000"})
+    public int games;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+    private AtomicReferenceArray<UUID> active;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication application = new SpringApplication(LingoApplication.class);
+        application.setAdditionalProfiles("ci");
+        context = application.run(
+            "--spring.main.web-application-type=none",
+            "--logging.level.root=WARN",
+            "--lingo.words.sampling=database",
+            "--lingo.games.execution=" + execution
+        );
+        context.getBean(WordRepository.class).saveAll(List.of(
+            new Word("groep"), new Word("kroket"), new Word("fietsen"), new Word("bruhh")
+        ));
+
+        gameService = context.getBean(GameService.class);
+        active = new AtomicReferenceArray<>(games);
+        IntStream.range(0, games).parallel().forEach(i -> active.set(i, start()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GuessResponse guess() {
+        int slot = ThreadLocalRandom.current().nextInt(games);
+        UUID gameId = active.get(slot);
+        try {
+            GuessResponse response = gameService.makeGuess(gameId, WRONG);
+            if (response.gameState().state() != GameState.IN_ROUND) {
+                active.compareAndSet(slot, gameId, start());
+            }
+            return response;
+        } catch (InvalidActionException | OptimisticLockingFailureException e) {
+            // Another thread ended this game first
+            active.compareAndSet(slot, gameId, start());
+            return null;
+        }
+    }
+
+    private UUID start() {
+        return gameService.startNewGame("Benchmark").id();
+    }
+}
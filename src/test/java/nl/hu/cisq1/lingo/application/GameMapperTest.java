@@ -10,6 +10,7 @@ import nl.hu.cisq1.lingo.domain.enums.RoundOutcome;
 import nl.hu.cisq1.lingo.presentation.dto.response.AttemptResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.FeedbackResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessDeltaResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.RoundResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -208,13 +209,14 @@ class GameMapperTest {
         Feedback feedback = Feedback.correct("bruhh");
         Game game = new Game(gameId, "BeetleJuice", 25, GameState.WAITING_FOR_ROUND, null, new ArrayList<>(), 5, false);
 
-        GuessResponse response = GameMapper.toGuessResponse(feedback, game);
+        GuessResponse response = GameMapper.toGuessResponse(feedback, GameMapper.toGameResponse(game), "1");
 
         assertNotNull(response);
         assertTrue(response.feedback().correct());
         assertTrue(response.feedback().valid());
         assertEquals(GameState.WAITING_FOR_ROUND, response.gameState().state());
         assertEquals(25, response.gameState().score());
+        assertEquals("1", response.version());
     }
 
     @Test
@@ -226,7 +228,7 @@ class GameMapperTest {
         Feedback feedback = Feedback.invalid("zzzzz");
         Game game = new Game(gameId, "BeetleJuice", 0, GameState.IN_ROUND, round, new ArrayList<>(), 5, false);
 
-        GuessResponse response = GameMapper.toGuessResponse(feedback, game);
+        GuessResponse response = GameMapper.toGuessResponse(feedback, GameMapper.toGameResponse(game), "1");
 
         assertNotNull(response);
         assertFalse(response.feedback().valid());
@@ -245,7 +247,7 @@ class GameMapperTest {
         Feedback feedback = Feedback.of("axpel", marks);
         Game game = new Game(gameId, "BeetleJuice", 0, GameState.IN_ROUND, round, new ArrayList<>(), 5, false);
 
-        GuessResponse response = GameMapper.toGuessResponse(feedback, game);
+        GuessResponse response = GameMapper.toGuessResponse(feedback, GameMapper.toGameResponse(game), "1");
 
         assertNotNull(response);
         assertFalse(response.feedback().correct());
@@ -253,4 +255,26 @@ class GameMapperTest {
         assertEquals(GameState.IN_ROUND, response.gameState().state());
         assertEquals(marks, response.feedback().marks());
     }
+
+    @Test
+    @DisplayName("Maps guess delta with only what the guess changed")
+    void mapsGuessDelta() {
+        UUID gameId = UUID.randomUUID();
+        Hint hint = Hint.initialFor("bruhh");
+        Round round = new Round("bruhh", 5, 1, new ArrayList<>(), RoundOutcome.IN_PROGRESS, hint);
+        List<Mark> marks = List.of(Mark.CORRECT, Mark.ABSENT, Mark.ABSENT, Mark.PRESENT, Mark.ABSENT);
+        Feedback feedback = Feedback.of("axpel", marks);
+        Game game = new Game(gameId, "BeetleJuice", 0, GameState.IN_ROUND, round, new ArrayList<>(), 5, false);
+        GuessResponse response = GameMapper.toGuessResponse(feedback, GameMapper.toGameResponse(game), "2");
+
+        GuessDeltaResponse delta = GameMapper.toGuessDeltaResponse(response);
+
+        assertEquals(response.feedback(), delta.feedback());
+        assertEquals(response.gameState().currentRound().hint(), delta.hint());
+        assertEquals(4, delta.attemptsRemaining());
+        assertEquals(GameState.IN_ROUND, delta.state());
+        assertEquals(0, delta.score());
+        assertNull(delta.targetWord());
+        assertEquals("2", delta.version());
+    }
 }
@@ -6,13 +6,13 @@ import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
 import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
 import nl.hu.cisq1.lingo.repository.GameRepository;
-import nl.hu.cisq1.lingo.words.data.WordRepository;
-import nl.hu.cisq1.lingo.words.domain.Word;
+import nl.hu.cisq1.lingo.support.TestDatabase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 
 import java.util.UUID;
 
@@ -21,27 +21,24 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
+@Import(TestDatabase.class)
 class GameServiceIntegrationTest {
     private static final String WORD_5 = "bruhh";
     private static final String WORD_6 = "kroket";
     private static final String WORD_7 = "bananen";
 
     @Autowired
-    private GameService gameService;
+    private TestDatabase testDatabase;
 
     @Autowired
-    private GameRepository gameRepository;
+    private GameService gameService;
 
     @Autowired
-    private WordRepository wordRepository;
+    private GameRepository gameRepository;
 
     @BeforeEach
     void resetDatabase() {
-        gameRepository.deleteAll();
-        wordRepository.deleteAll();
-        wordRepository.save(new Word(WORD_5));
-        wordRepository.save(new Word(WORD_6));
-        wordRepository.save(new Word(WORD_7));
+        testDatabase.reset(WORD_5, WORD_6, WORD_7);
     }
 
     @Test
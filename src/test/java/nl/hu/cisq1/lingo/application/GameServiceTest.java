@@ -4,26 +4,41 @@ import nl.hu.cisq1.lingo.application.exceptions.GameNotFoundException;
 import nl.hu.cisq1.lingo.domain.Game;
 import nl.hu.cisq1.lingo.domain.Hint;
 import nl.hu.cisq1.lingo.domain.Round;
+import nl.hu.cisq1.lingo.domain.Standing;
 import nl.hu.cisq1.lingo.domain.enums.GameState;
 import nl.hu.cisq1.lingo.domain.enums.RoundOutcome;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
 import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
 import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
 import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
-import nl.hu.cisq1.lingo.repository.GameRepository;
-
+import nl.hu.cisq1.lingo.presentation.dto.response.ScoreboardEntry;
+import nl.hu.cisq1.lingo.repository.FetchPlan;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import nl.hu.cisq1.lingo.repository.RecentWrites;
+import nl.hu.cisq1.lingo.repository.ScoreEventRepository;
+import nl.hu.cisq1.lingo.support.TestClock;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,19 +48,50 @@ class GameServiceTest {
     private static final String WORD_INVALID = "zzzzz";
 
     @Mock
-    private GameRepository gameRepository;
+    private GameStore gameStore;
 
     @Mock
     private DictionaryService dictionaryService;
 
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private ScoreEventRepository scoreEvents;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private CommitStage commits;
+
+    @Mock
+    private GameExecutor executor;
+
+    @Mock
+    private RecentWrites recentWrites;
+
+    @Mock
+    private GameViews views;
+
+    @Spy
+    private Clock clock = new TestClock();
+
     @InjectMocks
     private GameService gameService;
 
+    @BeforeEach
+    void runRightAway() {
+        lenient().when(commits.commit(any())).thenAnswer(invocation -> invocation.<Supplier<CommitStage.Writes<?>>>getArgument(0).get().write());
+        lenient().when(executor.execute(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(recentWrites.read(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
     @Test
     @DisplayName("Starting new game creates first round with five-letter word")
     void startNewGameCreatesFiveLetterRound() {
         when(dictionaryService.randomWord(5)).thenReturn(WORD_5);
-        when(gameRepository.save(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(gameStore.save(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         GameResponse response = gameService.startNewGame("JoeRogan");
 
@@ -54,7 +100,7 @@ class GameServiceTest {
         assertEquals(5, response.lastWordLength());
         assertNotNull(response.currentRound());
         verify(dictionaryService).randomWord(5);
-        verify(gameRepository).save(any(Game.class));
+        verify(gameStore).save(any(Game.class));
     }
 
     @Test
@@ -62,9 +108,10 @@ class GameServiceTest {
     void makeGuessWithCorrectWordWinsRound() {
         UUID gameId = UUID.randomUUID();
         Game activeGame = activeGame(gameId, WORD_5);
-        when(gameRepository.findById(gameId)).thenReturn(Optional.of(activeGame));
+        when(gameStore.findById(gameId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.of(activeGame));
         when(dictionaryService.exists(WORD_5)).thenReturn(true);
-        when(gameRepository.save(activeGame)).thenReturn(activeGame);
+        when(gameStore.save(activeGame)).thenReturn(activeGame);
+        when(gameStore.findVersion(gameId)).thenReturn(Optional.of("1"));
 
         GuessResponse response = gameService.makeGuess(gameId, new GuessRequest(WORD_5));
 
@@ -73,9 +120,12 @@ class GameServiceTest {
         assertEquals(GameState.WAITING_FOR_ROUND, response.gameState().state());
         assertEquals(25, response.gameState().score());
         assertEquals(5, response.gameState().lastWordLength());
-        verify(gameRepository).findById(gameId);
+        verify(gameStore).findById(gameId, FetchPlan.CURRENT_HISTORY);
         verify(dictionaryService).exists(WORD_5);
-        verify(gameRepository).save(activeGame);
+        verify(gameStore).save(activeGame);
+        verify(scoreEvents).save(argThat(event -> event.getPoints() == 25 && event.getScoredAt().equals(TestClock.START)));
+        verify(leaderboard).update(eq(activeGame), any());
+        verify(events).publishEvent(new ScoreChanged(gameId));
     }
 
     @Test
@@ -83,9 +133,10 @@ class GameServiceTest {
     void makeGuessWithInvalidWordKeepsRoundActive() {
         UUID gameId = UUID.randomUUID();
         Game activeGame = activeGame(gameId, WORD_5);
-        when(gameRepository.findById(gameId)).thenReturn(Optional.of(activeGame));
+        when(gameStore.findById(gameId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.of(activeGame));
         when(dictionaryService.exists(WORD_INVALID)).thenReturn(false);
-        when(gameRepository.save(activeGame)).thenReturn(activeGame);
+        when(gameStore.save(activeGame)).thenReturn(activeGame);
+        when(gameStore.findVersion(gameId)).thenReturn(Optional.of("1"));
 
         GuessResponse response = gameService.makeGuess(gameId, new GuessRequest(WORD_INVALID));
 
@@ -93,24 +144,24 @@ class GameServiceTest {
         assertEquals(GameState.IN_ROUND, response.gameState().state());
         assertEquals(0, response.gameState().score());
         assertEquals(5, response.gameState().lastWordLength());
-        verify(gameRepository).findById(gameId);
+        verify(gameStore).findById(gameId, FetchPlan.CURRENT_HISTORY);
         verify(dictionaryService).exists(WORD_INVALID);
-        verify(gameRepository).save(activeGame);
+        verify(gameStore).save(activeGame);
     }
 
     @Test
     @DisplayName("Making guess for non-existent game throws exception")
     void makeGuessThrowsWhenGameNotFound() {
         UUID nonExistentId = UUID.randomUUID();
-        when(gameRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(gameStore.findById(nonExistentId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.empty());
 
         assertThrows(GameNotFoundException.class,
             () -> gameService.makeGuess(nonExistentId, new GuessRequest(WORD_5))
         );
 
-        verify(gameRepository).findById(nonExistentId);
+        verify(gameStore).findById(nonExistentId, FetchPlan.CURRENT_HISTORY);
         verifyNoInteractions(dictionaryService);
-        verify(gameRepository, never()).save(any(Game.class));
+        verify(gameStore, never()).save(any(Game.class));
     }
 
     @Test
@@ -118,9 +169,9 @@ class GameServiceTest {
     void startNewRoundProgressesToSixLetterWord() {
         UUID gameId = UUID.randomUUID();
         Game waitingGame = waitingGame(gameId, 25, 5);
-        when(gameRepository.findById(gameId)).thenReturn(Optional.of(waitingGame));
+        when(gameStore.findById(gameId, FetchPlan.CURRENT_ROUND)).thenReturn(Optional.of(waitingGame));
         when(dictionaryService.randomWord(6)).thenReturn(WORD_6);
-        when(gameRepository.save(waitingGame)).thenReturn(waitingGame);
+        when(gameStore.save(waitingGame)).thenReturn(waitingGame);
 
         GameResponse response = gameService.startNewRound(gameId);
 
@@ -128,23 +179,23 @@ class GameServiceTest {
         assertEquals(25, response.score());
         assertEquals(6, response.lastWordLength());
         assertNotNull(response.currentRound());
-        verify(gameRepository).findById(gameId);
+        verify(gameStore).findById(gameId, FetchPlan.CURRENT_ROUND);
         verify(dictionaryService).randomWord(6);
-        verify(gameRepository).save(waitingGame);
+        verify(gameStore).save(waitingGame);
     }
 
     @Test
     @DisplayName("Starting new round for non-existent game throws exception")
     void startNewRoundThrowsWhenGameNotFound() {
         UUID nonExistentId = UUID.randomUUID();
-        when(gameRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(gameStore.findById(nonExistentId, FetchPlan.CURRENT_ROUND)).thenReturn(Optional.empty());
 
         assertThrows(GameNotFoundException.class,
             () -> gameService.startNewRound(nonExistentId));
 
-        verify(gameRepository).findById(nonExistentId);
+        verify(gameStore).findById(nonExistentId, FetchPlan.CURRENT_ROUND);
         verifyNoInteractions(dictionaryService);
-        verify(gameRepository, never()).save(any(Game.class));
+        verify(gameStore, never()).save(any(Game.class));
     }
 
     @Test
@@ -152,7 +203,7 @@ class GameServiceTest {
     void getGameReturnsCurrentState() {
         UUID gameId = UUID.randomUUID();
         Game activeGame = activeGame(gameId, WORD_5);
-        when(gameRepository.findById(gameId)).thenReturn(Optional.of(activeGame));
+        when(gameStore.findById(gameId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.of(activeGame));
 
         GameResponse response = gameService.getGame(gameId);
 
@@ -161,19 +212,51 @@ class GameServiceTest {
         assertEquals(0, response.score());
         assertEquals(5, response.lastWordLength());
         assertNotNull(response.currentRound());
-        verify(gameRepository).findById(gameId);
+        verify(gameStore).findById(gameId, FetchPlan.CURRENT_HISTORY);
     }
 
     @Test
     @DisplayName("Retrieving non-existent game throws exception")
     void getGameThrowsWhenGameNotFound() {
         UUID nonExistentId = UUID.randomUUID();
-        when(gameRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(gameStore.findById(nonExistentId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.empty());
 
         assertThrows(GameNotFoundException.class,
             () -> gameService.getGame(nonExistentId));
 
-        verify(gameRepository).findById(nonExistentId);
+        verify(gameStore).findById(nonExistentId, FetchPlan.CURRENT_HISTORY);
+    }
+
+    @Test
+    @DisplayName("Retrieving a game with a view does not load the game")
+    void getGameViewSkipsStore() {
+        UUID gameId = UUID.randomUUID();
+        GameResponse shown = GameMapper.toGameResponse(activeGame(gameId, WORD_5));
+        when(views.find(gameId)).thenReturn(Optional.of(new GameView("3", shown)));
+
+        GameView view = gameService.findGameView(gameId).orElseThrow();
+
+        assertEquals("3", view.version());
+        assertEquals(shown, view.game());
+        assertEquals(shown, gameService.getGame(gameId));
+        verifyNoInteractions(gameStore);
+    }
+
+    @Test
+    @DisplayName("Every command updates the view of its game")
+    void commandsUpdateView() {
+        UUID gameId = UUID.randomUUID();
+        when(gameStore.findById(gameId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.of(activeGame(gameId, WORD_5)));
+        when(gameStore.save(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(dictionaryService.exists(WORD_INVALID)).thenReturn(false);
+        when(gameStore.findVersion(gameId)).thenReturn(Optional.of("1"));
+
+        GuessResponse guessed = gameService.makeGuess(gameId, new GuessRequest(WORD_INVALID));
+        GameResponse forfeited = gameService.forfeitGame(gameId);
+
+        assertEquals("1", guessed.version());
+        verify(views).update(eq(guessed.gameState()), any());
+        verify(views).update(eq(forfeited), any());
     }
 
     @Test
@@ -181,29 +264,50 @@ class GameServiceTest {
     void forfeitGameEliminatesPlayer() {
         UUID gameId = UUID.randomUUID();
         Game activeGame = activeGame(gameId, WORD_5);
-        when(gameRepository.findById(gameId)).thenReturn(Optional.of(activeGame));
-        when(gameRepository.save(activeGame)).thenReturn(activeGame);
+        when(gameStore.findById(gameId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.of(activeGame));
+        when(gameStore.save(activeGame)).thenReturn(activeGame);
 
         GameResponse response = gameService.forfeitGame(gameId);
 
         assertEquals(GameState.ELIMINATED, response.state());
         assertEquals(0, response.score());
         assertNotNull(response.currentRound());
-        verify(gameRepository).findById(gameId);
-        verify(gameRepository).save(activeGame);
+        verify(gameStore).findById(gameId, FetchPlan.CURRENT_HISTORY);
+        verify(gameStore).save(activeGame);
     }
 
     @Test
     @DisplayName("Forfeiting non-existent game throws exception")
     void forfeitGameThrowsWhenGameNotFound() {
         UUID nonExistentId = UUID.randomUUID();
-        when(gameRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(gameStore.findById(nonExistentId, FetchPlan.CURRENT_HISTORY)).thenReturn(Optional.empty());
 
         assertThrows(GameNotFoundException.class,
             () -> gameService.forfeitGame(nonExistentId));
 
-        verify(gameRepository).findById(nonExistentId);
-        verify(gameRepository, never()).save(any(Game.class));
+        verify(gameStore).findById(nonExistentId, FetchPlan.CURRENT_HISTORY);
+        verify(gameStore, never()).save(any(Game.class));
+    }
+
+    @Test
+    @DisplayName("Scoreboard is read from the leaderboard")
+    void scoreboardIsReadFromLeaderboard() {
+        when(leaderboard.top(ScoreWindow.ALL, null)).thenReturn(List.of(new Standing(UUID.randomUUID(), "JoeRogan", 25, true)));
+
+        List<ScoreboardEntry> scoreboard = gameService.getScoreboard();
+
+        assertEquals(List.of(new ScoreboardEntry("JoeRogan", 25, "Random")), scoreboard);
+        verifyNoInteractions(gameStore);
+    }
+
+    @Test
+    @DisplayName("Rank of a non-existent game throws exception")
+    void getRankThrowsWhenGameNotFound() {
+        UUID nonExistentId = UUID.randomUUID();
+        when(leaderboard.rankOf(nonExistentId)).thenReturn(OptionalInt.empty());
+
+        assertThrows(GameNotFoundException.class,
+            () -> gameService.getRank(nonExistentId));
     }
 
     private Game activeGame(UUID id, String targetWord) {
@@ -0,0 +1,88 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.repository.StoredGameViewRepository;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "lingo.games.storage=tables")
+@Import(TestDatabase.class)
+class GameViewsIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+    private static final String WORD_INVALID = "zzzzz";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameViews gameViews;
+
+    @Autowired
+    private StoredGameViewRepository viewRepository;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5);
+    }
+
+    @Test
+    @DisplayName("The view of a game follows every command")
+    void viewFollowsCommands() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        GameView started = gameService.findGameView(gameId).orElseThrow();
+
+        GuessResponse guessed = gameService.makeGuess(gameId, new GuessRequest(WORD_INVALID));
+        GameView afterGuess = gameService.findGameView(gameId).orElseThrow();
+        String stored = gameService.getGameVersion(gameId);
+        GameResponse forfeited = gameService.forfeitGame(gameId);
+
+        assertNotEquals(started.version(), afterGuess.version());
+        assertEquals(guessed.version(), afterGuess.version());
+        assertEquals(stored, afterGuess.version());
+        assertEquals(guessed.gameState(), afterGuess.game());
+        assertEquals(forfeited, gameService.getGame(gameId));
+    }
+
+    @Test
+    @DisplayName("A game without a view is shown from the store with the same version")
+    void gameWithoutViewIsRendered() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        GameView kept = gameService.findGameView(gameId).orElseThrow();
+        viewRepository.deleteById(gameId);
+
+        GameView rendered = new GameView(gameService.getGameVersion(gameId), gameService.getGame(gameId));
+        gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+
+        assertEquals(kept, rendered);
+        assertEquals(1, gameViews.find(gameId).orElseThrow().game().currentRound().attempts().size());
+    }
+
+    @Test
+    @DisplayName("A view in another format is not shown")
+    void otherFormatIsIgnored() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        transactions.executeWithoutResult(status ->
+            viewRepository.update(gameId, GameViews.FORMAT + 1, "0", "{}"));
+
+        assertTrue(gameViews.find(gameId).isEmpty());
+        assertEquals(gameId, gameService.getGame(gameId).id());
+    }
+}
@@ -0,0 +1,114 @@
+package nl.hu.cisq1.lingo.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+import nl.hu.cisq1.lingo.repository.StoredGameView;
+import nl.hu.cisq1.lingo.repository.StoredGameViewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GameViewsTest {
+    private final StoredGameViewRepository repository = mock(StoredGameViewRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final GameViews views = views(true, false);
+    private final GameResponse game = new GameResponse(UUID.randomUUID(), GameState.WAITING_FOR_ROUND, 25, 5, null);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("A game without a view gets one")
+    void missingViewIsInserted() {
+        when(repository.update(eq(game.id()), anyInt(), eq("2"), anyString())).thenReturn(0);
+
+        views.update(game, () -> "2");
+
+        verify(repository).saveAndFlush(argThat(view -> view.getId().equals(game.id()) && view.getVersion().equals("2")));
+    }
+
+    @Test
+    @DisplayName("A view inserted concurrently is reported as a lost race")
+    void concurrentInsertIsConflict() {
+        when(repository.update(eq(game.id()), anyInt(), eq("2"), anyString())).thenReturn(0);
+        when(repository.saveAndFlush(any(StoredGameView.class))).thenThrow(new DuplicateKeyException("game_views_pkey"));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> views.update(game, () -> "2"));
+    }
+
+    @Test
+    @DisplayName("The version is not looked up when views are not kept")
+    void disabledViewsSkipVersion() {
+        GameViews disabled = views(false, false);
+
+        disabled.update(game, () -> fail("version looked up"));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Games kept in the journal get no views")
+    void journalKeepsNoViews() {
+        GameViews journal = views(true, "journal", false);
+
+        journal.create(game, () -> fail("version looked up"));
+
+        assertTrue(journal.find(game.id()).isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("A view written behind is shown from memory once its command committed")
+    void writtenBehindViewIsKeptOnCommit() {
+        GameViews behind = views(true, true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        behind.update(game, () -> "2");
+        assertTrue(behind.find(game.id()).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(Optional.of(new GameView("2", game)), behind.find(game.id()));
+        verify(repository, never()).update(any(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("A flush writes the views written behind and shows them from the table after")
+    void flushWritesViews() {
+        GameViews behind = views(true, true);
+        when(repository.update(eq(game.id()), anyInt(), eq("2"), anyString())).thenReturn(1);
+
+        behind.update(game, () -> "2");
+        behind.flush();
+        behind.find(game.id());
+
+        verify(repository).update(eq(game.id()), eq(GameViews.FORMAT), eq("2"), anyString());
+        verify(repository).findById(game.id());
+    }
+
+    private GameViews views(boolean enabled, boolean writtenBehind) {
+        return views(enabled, "tables", writtenBehind);
+    }
+
+    private GameViews views(boolean enabled, String storage, boolean writtenBehind) {
+        return new GameViews(repository, new ObjectMapper(), transactionManager, enabled, storage, writtenBehind, Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,153 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import nl.hu.cisq1.lingo.application.exceptions.GameNotFoundException;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.repository.GameRepository;
+import nl.hu.cisq1.lingo.repository.ScoreEventRepository;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.group-commit.enabled=true",
+    "lingo.games.group-commit.max-wait=200ms"
+})
+@Import(TestDatabase.class)
+class GroupCommitStageIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+    private static final int PLAYERS = 8;
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ScoreEventRepository scoreEventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CommitStage commits;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5);
+    }
+
+    @Test
+    @DisplayName("Guesses of concurrent players share their commit")
+    void concurrentGuessesShareCommit() {
+        List<UUID> games = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            games.add(gameService.startNewGame("Player" + i).id());
+        }
+        long groups = sizes().count();
+        long waits = waits().count();
+
+        List<GuessResponse> responses = concurrently(games.stream()
+            .<Supplier<GuessResponse>>map(gameId -> () -> gameService.makeGuess(gameId, new GuessRequest(WORD_5)))
+            .toList());
+
+        assertTrue(responses.stream().allMatch(response -> response.gameState().score() == 25));
+        assertEquals(PLAYERS, scoreEventRepository.count());
+        assertTrue(sizes().count() - groups < PLAYERS);
+        assertEquals(PLAYERS, waits().count() - waits);
+    }
+
+    @Test
+    @DisplayName("A rejected guess only fails its own player")
+    void rejectedGuessFailsAlone() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+
+        CompletableFuture<GuessResponse> unknown = CompletableFuture.supplyAsync(
+            () -> gameService.makeGuess(UUID.randomUUID(), new GuessRequest(WORD_5)));
+        GuessResponse response = gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+
+        CompletionException failure = assertThrows(CompletionException.class, unknown::join);
+        assertInstanceOf(GameNotFoundException.class, failure.getCause());
+        assertEquals(25, response.gameState().score());
+        assertEquals(25, gameRepository.findById(gameId).orElseThrow().getScore());
+    }
+
+    @Test
+    @DisplayName("The logic of a command runs on its caller, only its writes on the committer")
+    void logicRunsOnCaller() {
+        Thread caller = Thread.currentThread();
+
+        List<Thread> threads = commits.commit(() -> {
+            Thread logic = Thread.currentThread();
+            return () -> List.of(logic, Thread.currentThread());
+        });
+
+        assertSame(caller, threads.get(0));
+        assertEquals("group-commit", threads.get(1).getName());
+    }
+
+    @Test
+    @DisplayName("An error in the writes reaches its caller and the committer carries on")
+    void errorDoesNotStopCommitter() {
+        Error broken = new Error("broken writes");
+
+        Error thrown = assertThrows(Error.class, () -> commits.commit(() -> () -> {
+            throw broken;
+        }));
+
+        assertSame(broken, thrown);
+        assertEquals("committed", commits.commit(() -> () -> "committed"));
+    }
+
+    private <T> List<T> concurrently(List<Supplier<T>> tasks) {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<T>> futures = tasks.stream()
+                .map(task -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return task.get();
+                }, executor))
+                .toList();
+            start.countDown();
+            return futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private DistributionSummary sizes() {
+        return meterRegistry.get(GroupCommitStage.METRIC + ".size").summary();
+    }
+
+    private Timer waits() {
+        return meterRegistry.get(GroupCommitStage.METRIC + ".wait").timer();
+    }
+}
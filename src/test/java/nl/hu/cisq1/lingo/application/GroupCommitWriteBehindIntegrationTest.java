@@ -0,0 +1,78 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.group-commit.enabled=true",
+    "lingo.games.group-commit.max-wait=500ms",
+    "lingo.games.write-behind.enabled=true",
+    "lingo.games.write-behind.durability=interval",
+    "lingo.games.write-behind.flush-interval=1h",
+    "lingo.games.views.enabled=false"
+})
+@Import(TestDatabase.class)
+class GroupCommitWriteBehindIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private CommitStage commits;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private Dictionary dictionary;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5);
+    }
+
+    @Test
+    @DisplayName("A guess in a group that rolled back is applied once to a game written behind")
+    void failedGroupAppliesGuessOnce() throws InterruptedException {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Game> guessed = CompletableFuture.supplyAsync(() -> commits.commit(() -> {
+            runs.incrementAndGet();
+            Game game = gameStore.findById(gameId).orElseThrow();
+            game.guess(WORD_5, dictionary);
+            return () -> gameStore.save(game);
+        }));
+        // Handed in while the committer still collects the group of the guess
+        Thread.sleep(100);
+        CompletableFuture<Game> broken = CompletableFuture.supplyAsync(() -> commits.<Game>commit(() -> () -> {
+            throw new DataIntegrityViolationException("broken");
+        }));
+
+        CompletionException failure = assertThrows(CompletionException.class, broken::join);
+        assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+        assertEquals(25, guessed.join().getScore());
+        assertEquals(2, runs.get());
+        assertEquals(1, gameService.getGame(gameId).currentRound().attempts().size());
+    }
+}
@@ -0,0 +1,97 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.LingoApplication;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.domain.Feedback;
+import nl.hu.cisq1.lingo.words.application.WordService;
+import nl.hu.cisq1.lingo.words.data.WordRepository;
+import nl.hu.cisq1.lingo.words.domain.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency of generating feedback for a guess when the word is
+ * validated through JPA versus the in-memory snapshot.
+ *
+ * Runs against the in-memory H2 database of the "ci" profile, seeded with the
+ * same 5 to 7 letter words as the development database. Run with:
+ *
+ *       make benchmark BENCHMARK=GuessLatencyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuessLatencyBenchmark {
+    private static final Path WORD_LIST = Path.of("development", "words", "woorden-opentaal.txt");
+
+    @Param({"database", "memory"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private Dictionary dictionary;
+    private String[] attempts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        SpringApplication application = new SpringApplication(LingoApplication.class);
+        application.setAdditionalProfiles("ci");
+        context = application.run(
+            "--spring.main.web-application-type=none",
+            "--logging.level.root=WARN",
+            "--lingo.words.sampling=database"
+        );
+
+        List<String> words = Files.readAllLines(WORD_LIST).stream()
+            .filter(word -> word.matches("[a-z]{5}"))
+            .toList();
+        context.getBean(WordRepository.class).saveAll(words.stream().map(Word::new).toList());
+
+        WordService wordService = context.getBean(WordService.class);
+        dictionary = switch (mode) {
+            case "database" -> context.getBean(DictionaryService.class);
+            case "memory" -> new InMemoryDictionary(wordService.snapshot());
+            default -> throw new IllegalArgumentException(mode);
+        };
+
+        // Every other attempt is a non-word, mirroring players that mistype
+        attempts = new String[1024];
+        for (int i = 0; i < attempts.length; i++) {
+            String word = words.get((i * 7919) % words.size());
+            attempts[i] = i % 2 == 0 ? word : new StringBuilder(word).reverse().toString();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Feedback guess() {
+        String attempt = attempts[next++ & (attempts.length - 1)];
+        return Feedback.generate("groep", attempt, dictionary);
+    }
+}
@@ -0,0 +1,33 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.words.domain.WordSnapshot;
+import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryDictionaryTest {
+    private final InMemoryDictionary dictionary = new InMemoryDictionary(WordSnapshot.of(List.of("bruhh", "kroket")));
+
+    @Test
+    @DisplayName("Word existence is answered from the snapshot")
+    void existsUsesSnapshot() {
+        assertTrue(dictionary.exists("bruhh"));
+        assertFalse(dictionary.exists("zzzzz"));
+    }
+
+    @Test
+    @DisplayName("Random word is drawn from the snapshot")
+    void randomWordUsesSnapshot() {
+        assertEquals("kroket", dictionary.randomWord(6));
+    }
+
+    @Test
+    @DisplayName("Requesting word with unsupported length throws exception")
+    void randomWordThrowsForUnsupportedLength() {
+        assertThrows(WordLengthNotSupportedException.class, () -> dictionary.randomWord(7));
+    }
+}
@@ -0,0 +1,143 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.ScoreEvent;
+import nl.hu.cisq1.lingo.domain.Standing;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.domain.enums.ScoreWindow;
+import nl.hu.cisq1.lingo.support.TestClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryLeaderboardTest {
+    private final TestClock clock = new TestClock();
+
+    @Test
+    @DisplayName("Standings loaded at startup are ranked")
+    void loadsStandings() {
+        Standing leader = new Standing(UUID.randomUUID(), "JamesMay", 50, false);
+        Standing other = new Standing(UUID.randomUUID(), "RichardHammond", 20, true);
+
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(List.of(other, leader), List.of(), clock);
+
+        assertEquals(List.of(leader, other), leaderboard.top(ScoreWindow.ALL, null));
+        assertEquals(OptionalInt.of(2), leaderboard.rankOf(other.gameId()));
+    }
+
+    @Test
+    @DisplayName("Updated games move up the board")
+    void updatedGameMovesUp() {
+        Standing leader = new Standing(UUID.randomUUID(), "JamesMay", 50, false);
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(List.of(leader), List.of(), clock);
+        Game game = game("JeremyClarkson", 75, true);
+
+        leaderboard.update(game, new ScoreEvent(game, 25, clock.instant()));
+
+        assertEquals(OptionalInt.of(1), leaderboard.rankOf(game.getId()));
+        assertEquals("JeremyClarkson", leaderboard.top(ScoreWindow.ALL, null).get(0).username());
+    }
+
+    @Test
+    @DisplayName("Updates inside a transaction are applied after it commits")
+    void updatesWaitForCommit() {
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(List.of(), List.of(), clock);
+        Game game = game("JeremyClarkson", 75, false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboard.update(game);
+            assertTrue(leaderboard.rankOf(game.getId()).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(OptionalInt.of(1), leaderboard.rankOf(game.getId()));
+    }
+
+    @Test
+    @DisplayName("The board shows at most twenty games")
+    void topIsLimited() {
+        List<Standing> standings = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            standings.add(new Standing(UUID.randomUUID(), "player" + i, i, i % 2 == 0));
+        }
+
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(standings, List.of(), clock);
+
+        assertEquals(Leaderboard.SIZE, leaderboard.top(ScoreWindow.ALL, null).size());
+        assertEquals(29, leaderboard.top(ScoreWindow.ALL, null).get(0).score());
+        assertEquals(15, leaderboard.top(ScoreWindow.ALL, true).size());
+    }
+
+    @Test
+    @DisplayName("Boards are split by mode")
+    void boardsAreSplitByMode() {
+        Game random = game("JamesMay", 25, true);
+        Game sequential = game("RichardHammond", 20, false);
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(List.of(), List.of(), clock);
+
+        leaderboard.update(random, new ScoreEvent(random, 25, clock.instant()));
+        leaderboard.update(sequential, new ScoreEvent(sequential, 20, clock.instant()));
+
+        assertEquals(List.of("JamesMay"), usernames(leaderboard.top(ScoreWindow.DAY, true)));
+        assertEquals(List.of("RichardHammond"), usernames(leaderboard.top(ScoreWindow.DAY, false)));
+        assertEquals(List.of("JamesMay", "RichardHammond"), usernames(leaderboard.top(ScoreWindow.DAY, null)));
+    }
+
+    @Test
+    @DisplayName("Scores leave the daily board after a day and the weekly board after a week")
+    void scoresExpire() {
+        Game game = game("JamesMay", 45, false);
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(
+            List.of(Standing.of(game)),
+            List.of(new ScoreEvent(game, 25, TestClock.START.minus(Duration.ofHours(2))), new ScoreEvent(game, 20, TestClock.START)),
+            clock
+        );
+        assertEquals(45, leaderboard.top(ScoreWindow.DAY, null).get(0).score());
+
+        clock.set(TestClock.START.plus(Duration.ofHours(23)));
+        assertEquals(20, leaderboard.top(ScoreWindow.DAY, null).get(0).score());
+        assertEquals(45, leaderboard.top(ScoreWindow.WEEK, null).get(0).score());
+
+        clock.set(TestClock.START.plus(Duration.ofDays(8)));
+        assertTrue(leaderboard.top(ScoreWindow.DAY, null).isEmpty());
+        assertTrue(leaderboard.top(ScoreWindow.WEEK, null).isEmpty());
+        assertEquals(45, leaderboard.top(ScoreWindow.ALL, null).get(0).score());
+    }
+
+    @Test
+    @DisplayName("The version changes with every update and with every expired bucket")
+    void versionChanges() {
+        InMemoryLeaderboard leaderboard = new InMemoryLeaderboard(List.of(), List.of(), clock);
+        String allTime = leaderboard.version(ScoreWindow.ALL).orElseThrow();
+        String daily = leaderboard.version(ScoreWindow.DAY).orElseThrow();
+
+        leaderboard.update(game("JamesMay", 0, false));
+        assertNotEquals(allTime, leaderboard.version(ScoreWindow.ALL).orElseThrow());
+
+        String updated = leaderboard.version(ScoreWindow.ALL).orElseThrow();
+        clock.set(TestClock.START.plus(Duration.ofHours(1)));
+        assertEquals(updated, leaderboard.version(ScoreWindow.ALL).orElseThrow());
+        assertNotEquals(daily, leaderboard.version(ScoreWindow.DAY).orElseThrow());
+    }
+
+    private static Game game(String username, int score, boolean randomLength) {
+        return new Game(UUID.randomUUID(), username, score, GameState.WAITING_FOR_ROUND, null, new ArrayList<>(), 5, randomLength);
+    }
+
+    private static List<String> usernames(List<Standing> standings) {
+        return standings.stream().map(Standing::username).toList();
+    }
+}
@@ -0,0 +1,30 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.words.data.LexiconCompiler;
+import nl.hu.cisq1.lingo.words.data.MappedLexicon;
+import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexiconDictionaryTest {
+
+    @Test
+    @DisplayName("Words are validated and drawn from the mapped lexicon")
+    void usesMappedLexicon(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("lingo.lex");
+        LexiconCompiler.compile(List.of("bruhh", "kroket"), file);
+        LexiconDictionary dictionary = new LexiconDictionary(MappedLexicon.open(file));
+
+        assertTrue(dictionary.exists("bruhh"));
+        assertFalse(dictionary.exists("zzzzz"));
+        assertEquals("kroket", dictionary.randomWord(6));
+        assertThrows(WordLengthNotSupportedException.class, () -> dictionary.randomWord(7));
+    }
+}
@@ -0,0 +1,103 @@
+package nl.hu.cisq1.lingo.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailboxGameExecutorTest {
+    private final MailboxGameExecutor executor = new MailboxGameExecutor();
+
+    @AfterEach
+    void close() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Commands for one game never run at the same time")
+    void commandsForOneGameAreSerial() {
+        UUID gameId = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> overlaps = Collections.synchronizedList(new ArrayList<>());
+
+        List<CompletableFuture<Integer>> commands = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            commands.add(CompletableFuture.supplyAsync(() -> executor.execute(gameId, () -> {
+                overlaps.add(running.incrementAndGet());
+                Thread.yield();
+                return running.decrementAndGet();
+            })));
+        }
+        commands.forEach(CompletableFuture::join);
+
+        assertTrue(overlaps.stream().allMatch(count -> count == 1));
+        assertEquals(0, executor.size());
+    }
+
+    @Test
+    @DisplayName("Commands for different games run side by side")
+    void commandsForOtherGamesRunAlongside() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> executor.execute(UUID.randomUUID(), () -> {
+            blocked.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        String fast = executor.execute(UUID.randomUUID(), () -> "fast");
+
+        assertEquals("fast", fast);
+        assertEquals(1, executor.size());
+        release.countDown();
+        assertEquals("slow", slow.join());
+    }
+
+    @Test
+    @DisplayName("A failing command fails its caller and not the ones after it")
+    void failureStaysWithItsCommand() {
+        UUID gameId = UUID.randomUUID();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(gameId, () -> {
+            throw new IllegalStateException("broken");
+        }));
+
+        assertEquals("next", executor.execute(gameId, () -> "next"));
+        assertEquals(0, executor.size());
+    }
+
+    @Test
+    @DisplayName("A command that throws an error does not block the mailbox")
+    void errorStaysWithItsCommand() {
+        UUID gameId = UUID.randomUUID();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(StackOverflowError.class, () -> executor.execute(gameId, () -> {
+                throw new StackOverflowError("broken");
+            }));
+
+            assertEquals("next", executor.execute(gameId, () -> "next"));
+        });
+        assertEquals(0, executor.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package nl.hu.cisq1.lingo.application;
+
+import nl.hu.cisq1.lingo.domain.exceptions.InvalidActionException;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.execution=mailbox",
+    "lingo.games.retry.max-attempts=1"
+})
+@Import(TestDatabase.class)
+class MailboxGuessIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+    private static final String WORD_6 = "kroket";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameExecutor gameExecutor;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5, WORD_6);
+    }
+
+    @Test
+    @DisplayName("Simultaneous guesses on one game take turns without conflicts")
+    void simultaneousGuessesTakeTurns() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+
+        List<CompletableFuture<GuessResponse>> guesses = IntStream.range(0, 12)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> gameService.makeGuess(gameId, new GuessRequest("zzzzz"))))
+            .toList();
+
+        long accepted = guesses.stream().filter(guess -> {
+            try {
+                guess.join();
+                return true;
+            } catch (CompletionException e) {
+                // Only guesses after the round was lost are turned down, never for a conflict
+                assertInstanceOf(InvalidActionException.class, e.getCause());
+                return false;
+            }
+        }).count();
+        assertEquals(5, accepted);
+        assertEquals(5, gameService.getGame(gameId).currentRound().attempts().size());
+        assertEquals(0, ((MailboxGameExecutor) gameExecutor).size());
+    }
+
+    @Test
+    @DisplayName("New rounds and forfeits go through the mailbox as well")
+    void roundsAndForfeitsGoThroughMailbox() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+
+        assertEquals(WORD_6.length(), gameService.startNewRound(gameId).lastWordLength());
+        assertThrows(InvalidActionException.class, () -> gameService.startNewRound(gameId));
+        assertEquals(25, gameService.forfeitGame(gameId).score());
+    }
+}
@@ -0,0 +1,61 @@
+package nl.hu.cisq1.lingo.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryingCommitStageTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CommitStage stage = new RetryingCommitStage(RetryingCommitStageTest::direct, 3, Duration.ZERO, registry);
+
+    @Test
+    @DisplayName("Work that lost a race is run again")
+    void lostRaceIsRunAgain() {
+        AtomicInteger runs = new AtomicInteger();
+
+        String result = stage.commit(() -> {
+            if (runs.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("changed concurrently");
+            }
+            return () -> "kept";
+        });
+
+        assertEquals("kept", result);
+        assertEquals(2, registry.get(RetryingCommitStage.METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("The last conflict is thrown once all attempts are used")
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> stage.commit(() -> {
+            runs.incrementAndGet();
+            throw new OptimisticLockingFailureException("changed concurrently");
+        }));
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    @DisplayName("Other failures are not retried")
+    void otherFailuresAreNotRetried() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> stage.commit(() -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("broken");
+        }));
+        assertEquals(1, runs.get());
+    }
+
+    private static <T> T direct(Supplier<CommitStage.Writes<T>> logic) {
+        return logic.get().write();
+    }
+}
@@ -0,0 +1,118 @@
+package nl.hu.cisq1.lingo.domain;
+
+import nl.hu.cisq1.lingo.domain.enums.Mark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed feedback kernel with the list based implementation it
+ * replaced, for a guess and the hint that follows from it. Run with:
+ *
+ *       make benchmark BENCHMARK=FeedbackBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedbackBenchmark {
+    private static final Dictionary DICTIONARY = new Dictionary() {
+        @Override
+        public boolean exists(String word) {
+            return true;
+        }
+
+        @Override
+        public String randomWord(int length) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Param({"5", "6", "7"})
+    public int length;
+
+    private String target;
+    private String attempt;
+    private Hint hint;
+
+    @Setup
+    public void setup() {
+        switch (length) {
+            case 5 -> { target = "groep"; attempt = "gedoe"; }
+            case 6 -> { target = "kastje"; attempt = "kaasje"; }
+            case 7 -> { target = "student"; attempt = "stuurde"; }
+            default -> throw new IllegalArgumentException("no words of length " + length);
+        }
+        hint = Hint.initialFor(target);
+    }
+
+    @Benchmark
+    public Hint packed() {
+        Feedback feedback = Feedback.generate(target, attempt, DICTIONARY);
+        return feedback.applyTo(hint, target);
+    }
+
+    @Benchmark
+    public Hint legacy() {
+        List<Mark> marks = legacyGenerate(target, attempt);
+        return legacyHint(hint, target, marks);
+    }
+
+    private static List<Mark> legacyGenerate(String target, String attempt) {
+        boolean[] used = new boolean[target.length()];
+        List<Mark> marks = new ArrayList<>();
+
+        for (int i = 0; i < target.length(); i++) {
+            marks.add(Mark.ABSENT);
+        }
+
+        for (int i = 0; i < target.length(); i++) {
+            if (attempt.charAt(i) == target.charAt(i)) {
+                used[i] = true;
+                marks.set(i, Mark.CORRECT);
+            }
+        }
+
+        for (int i = 0; i < target.length(); i++) {
+            if (marks.get(i) == Mark.CORRECT) {
+                continue;
+            }
+
+            for (int j = 0; j < target.length(); j++) {
+                if (attempt.charAt(i) == target.charAt(j) && !used[j]) {
+                    marks.set(i, Mark.PRESENT);
+                    used[j] = true;
+                    break;
+                }
+            }
+        }
+        return marks;
+    }
+
+    private static Hint legacyHint(Hint prev, String target, List<Mark> marks) {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < target.length(); i++) {
+            if (marks.get(i) == Mark.CORRECT) {
+                builder.append(target.charAt(i));
+            } else {
+                builder.append(prev.getValue().charAt(i));
+            }
+        }
+        return new Hint(builder.toString());
+    }
+}
@@ -1,6 +1,7 @@
 package nl.hu.cisq1.lingo.domain;
 
 import nl.hu.cisq1.lingo.domain.enums.Mark;
+import nl.hu.cisq1.lingo.support.StubDictionary;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -16,24 +17,6 @@ class FeedbackTest {
     private static final Dictionary VALID_DICTIONARY = new StubDictionary(true);
     private static final Dictionary INVALID_DICTIONARY = new StubDictionary(false);
 
-    private static class StubDictionary implements Dictionary {
-        private final boolean existsResult;
-
-        public StubDictionary(boolean existsResult) {
-            this.existsResult = existsResult;
-        }
-
-        @Override
-        public boolean exists(String word) {
-            return existsResult;
-        }
-
-        @Override
-        public String randomWord(int length) {
-            return "bruhh";
-        }
-    }
-
     @Test
     @DisplayName("word is guessed if all characters are valid")
     void wordIsGuessed() {
@@ -3,8 +3,11 @@ package nl.hu.cisq1.lingo.domain;
 import nl.hu.cisq1.lingo.domain.enums.GameState;
 import nl.hu.cisq1.lingo.domain.enums.RoundOutcome;
 import nl.hu.cisq1.lingo.domain.exceptions.InvalidActionException;
+import nl.hu.cisq1.lingo.support.StubDictionary;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -17,18 +20,6 @@ import static org.junit.jupiter.api.Assertions.*;
 class GameTest {
     private static final Dictionary TEST_DICTIONARY = new StubDictionary();
 
-    private static class StubDictionary implements Dictionary {
-        @Override
-        public boolean exists(String word) {
-            return true;
-        }
-
-        @Override
-        public String randomWord(int length) {
-            return "bruhh";
-        }
-    }
-
     @ParameterizedTest
     @MethodSource("wordLengths")
     @DisplayName("Word length progresses correctly")
@@ -196,6 +187,22 @@ class GameTest {
         assertEquals(1, game.getPastRounds().size());
     }
 
+    @Test
+    @DisplayName("Rounds are numbered in the order they are played")
+    void roundsAreNumbered() {
+        Game game = new Game();
+        game.setUsername("ZappBrannigan");
+        game.startGame(TEST_DICTIONARY);
+        for (int i = 0; i < 3; i++) {
+            game.guess("bruhh", TEST_DICTIONARY);
+            game.startNewRound(TEST_DICTIONARY);
+        }
+
+        assertEquals(4, game.getCurrentRound().getNumber());
+        assertEquals(List.of(2, 3), game.findPastRounds(1, 5).stream().map(Round::getNumber).toList());
+        assertEquals(List.of(1, 2, 3), Game.fromSnapshot(game.toSnapshot()).findPastRounds(0, 5).stream().map(Round::getNumber).toList());
+    }
+
     @Test
     @DisplayName("Can start new round after winning")
     void canStartNewRoundAfterWinning() {
@@ -209,4 +216,61 @@ class GameTest {
         assertNotNull(game.getCurrentRound());
         assertEquals(6, game.getLastWordLength());
     }
+
+    @Test
+    @DisplayName("A game is restored from its snapshot")
+    void gameIsRestoredFromSnapshot() {
+        Round round = new Round("bruhh", 5, 0, new ArrayList<>(), RoundOutcome.IN_PROGRESS, Hint.initialFor("bruhh"));
+        Game game = new Game(UUID.randomUUID(), "ZappBrannigan", 0, GameState.IN_ROUND, round, new ArrayList<>(), 5, false);
+        game.guess("bruhh", TEST_DICTIONARY);
+        game.startNewRound(TEST_DICTIONARY);
+        game.guess("brahh", TEST_DICTIONARY);
+
+        Game restored = Game.fromSnapshot(game.toSnapshot());
+
+        assertEquals(game.getId(), restored.getId());
+        assertEquals(game.getScore(), restored.getScore());
+        assertEquals(game.getState(), restored.getState());
+        assertEquals(1, restored.getPastRounds().size());
+        assertEquals(game.getCurrentHint().getValue(), restored.getCurrentHint().getValue());
+        assertEquals(
+            game.getCurrentRound().getHistory().get(0).getMarks(),
+            restored.getCurrentRound().getHistory().get(0).getMarks()
+        );
+        assertEquals(game.getAttemptsRemaining(), restored.getAttemptsRemaining());
+    }
+
+    @Test
+    @DisplayName("Replaying the changes of a game gives the same game")
+    void replayingChangesGivesSameGame() {
+        Game game = new Game(null, "ZappBrannigan", 0, GameState.NEW, null, new ArrayList<>(), 0, false);
+        game.startGame(TEST_DICTIONARY);
+        game.guess("brahh", TEST_DICTIONARY);
+        game.guess("bruhh", TEST_DICTIONARY);
+        game.startNewRound(TEST_DICTIONARY);
+        game.forfeit();
+
+        Game replayed = new Game();
+        game.takeChanges().forEach(replayed::apply);
+
+        assertEquals(game.toSnapshot(), replayed.toSnapshot());
+        assertTrue(game.takeChanges().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A game whose past rounds were taken goes on as before")
+    void gameGoesOnAfterPastRoundsAreTaken() {
+        Game game = new Game(null, "ZappBrannigan", 0, GameState.NEW, null, new ArrayList<>(), 0, false);
+        game.startGame(TEST_DICTIONARY);
+        game.guess("bruhh", TEST_DICTIONARY);
+        game.startNewRound(TEST_DICTIONARY);
+
+        assertEquals(1, game.takePastRounds().size());
+        assertTrue(game.getPastRounds().isEmpty());
+
+        game.guess("bruhh", TEST_DICTIONARY);
+        game.startNewRound(TEST_DICTIONARY);
+
+        assertEquals(1, game.getPastRounds().size());
+    }
 }
@@ -0,0 +1,44 @@
+package nl.hu.cisq1.lingo.domain;
+
+import nl.hu.cisq1.lingo.domain.enums.Mark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarksConverterTest {
+    private final MarksConverter converter = new MarksConverter();
+
+    @Test
+    @DisplayName("Marks are stored as one code per position")
+    void storesCodes() {
+        List<Mark> marks = List.of(Mark.CORRECT, Mark.PRESENT, Mark.ABSENT, Mark.ABSENT, Mark.INVALID);
+
+        assertEquals("CPAAI", converter.convertToDatabaseColumn(marks));
+    }
+
+    @Test
+    @DisplayName("Stored codes are read back as marks")
+    void readsCodes() {
+        assertEquals(
+            List.of(Mark.CORRECT, Mark.PRESENT, Mark.ABSENT, Mark.ABSENT, Mark.INVALID),
+            converter.convertToEntityAttribute("CPAAI")
+        );
+    }
+
+    @Test
+    @DisplayName("Packed marks of a generated guess round trip")
+    void packedMarksRoundTrip() {
+        List<Mark> marks = Marks.asList(Marks.score("groep", "gedoe"), 5);
+
+        assertEquals(marks, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(marks)));
+    }
+
+    @Test
+    @DisplayName("Unknown codes are rejected")
+    void rejectsUnknownCodes() {
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute("CPX"));
+    }
+}
@@ -0,0 +1,65 @@
+package nl.hu.cisq1.lingo.domain;
+
+import nl.hu.cisq1.lingo.domain.enums.Mark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarksTest {
+
+    @ParameterizedTest
+    @MethodSource("words")
+    @DisplayName("Scores lowercase words with the letter counts")
+    void scoresLowercaseWords(String target, String attempt, List<Mark> expected) {
+        int packed = Marks.score(target, attempt);
+
+        assertEquals(expected, Marks.asList(packed, target.length()));
+    }
+
+    static Stream<Arguments> words() {
+        return Stream.of(
+            Arguments.of("banana", "banaan",
+                List.of(Mark.CORRECT, Mark.CORRECT, Mark.CORRECT, Mark.CORRECT, Mark.PRESENT, Mark.PRESENT)),
+            Arguments.of("groep", "gedoe",
+                List.of(Mark.CORRECT, Mark.PRESENT, Mark.ABSENT, Mark.PRESENT, Mark.ABSENT)),
+            Arguments.of("kastje", "kaasje",
+                List.of(Mark.CORRECT, Mark.CORRECT, Mark.ABSENT, Mark.PRESENT, Mark.CORRECT, Mark.CORRECT)),
+            Arguments.of("student", "stuurde",
+                List.of(Mark.CORRECT, Mark.CORRECT, Mark.CORRECT, Mark.ABSENT, Mark.ABSENT, Mark.PRESENT, Mark.PRESENT)),
+            Arguments.of("één", "néé",
+                List.of(Mark.PRESENT, Mark.CORRECT, Mark.PRESENT))
+        );
+    }
+
+    @Test
+    @DisplayName("Packing the marks of a list round trips")
+    void packRoundTrips() {
+        List<Mark> marks = List.of(Mark.INVALID, Mark.ABSENT, Mark.PRESENT, Mark.CORRECT, Mark.ABSENT);
+
+        assertEquals(marks, Marks.asList(Marks.pack(marks), marks.size()));
+    }
+
+    @Test
+    @DisplayName("The marks view cannot be modified")
+    void viewIsImmutable() {
+        List<Mark> marks = Marks.asList(Marks.score("bruhh", "bruhh"), 5);
+
+        assertThrows(UnsupportedOperationException.class, () -> marks.set(0, Mark.ABSENT));
+        assertThrows(IndexOutOfBoundsException.class, () -> marks.get(5));
+    }
+
+    @Test
+    @DisplayName("Words longer than an int can hold are not scored")
+    void rejectsLongWords() {
+        String word = "a".repeat(Marks.MAX_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> Marks.score(word, word));
+    }
+}
@@ -0,0 +1,71 @@
+package nl.hu.cisq1.lingo.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingTest {
+
+    @Test
+    @DisplayName("Top standings are ordered by score")
+    void topIsOrderedByScore() {
+        Ranking ranking = new Ranking();
+        Standing low = standing(5);
+        Standing high = standing(25);
+        Standing mid = standing(15);
+        ranking.put(low);
+        ranking.put(high);
+        ranking.put(mid);
+
+        assertEquals(List.of(high, mid), ranking.top(2));
+        assertEquals(List.of(high, mid, low), ranking.top(20));
+    }
+
+    @Test
+    @DisplayName("Games with the same score share a rank")
+    void equalScoresShareRank() {
+        Ranking ranking = new Ranking();
+        Standing first = standing(25);
+        Standing tied = standing(20);
+        Standing alsoTied = standing(20);
+        Standing last = standing(0);
+        List.of(first, tied, alsoTied, last).forEach(ranking::put);
+
+        assertEquals(OptionalInt.of(1), ranking.rankOf(first.gameId()));
+        assertEquals(OptionalInt.of(2), ranking.rankOf(tied.gameId()));
+        assertEquals(OptionalInt.of(2), ranking.rankOf(alsoTied.gameId()));
+        assertEquals(OptionalInt.of(4), ranking.rankOf(last.gameId()));
+    }
+
+    @Test
+    @DisplayName("A new score replaces the previous standing of a game")
+    void newScoreReplacesStanding() {
+        Ranking ranking = new Ranking();
+        Standing leader = standing(25);
+        Standing chaser = standing(10);
+        ranking.put(leader);
+        ranking.put(chaser);
+
+        ranking.put(new Standing(chaser.gameId(), chaser.username(), 1000, false));
+
+        assertEquals(2, ranking.size());
+        assertEquals(OptionalInt.of(1), ranking.rankOf(chaser.gameId()));
+        assertEquals(OptionalInt.of(2), ranking.rankOf(leader.gameId()));
+        assertEquals(1000, ranking.top(1).get(0).score());
+    }
+
+    @Test
+    @DisplayName("Unknown games have no rank")
+    void unknownGameHasNoRank() {
+        assertTrue(new Ranking().rankOf(UUID.randomUUID()).isEmpty());
+    }
+
+    private static Standing standing(int score) {
+        return new Standing(UUID.randomUUID(), "player" + score, score, false);
+    }
+}
@@ -0,0 +1,61 @@
+package nl.hu.cisq1.lingo.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingScoresTest {
+    private static final Instant START = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Standing POINTS = new Standing(UUID.randomUUID(), "JamesMay", 10, false);
+
+    @Test
+    @DisplayName("Points within the window are summed per game")
+    void pointsAreSummed() {
+        RollingScores scores = new RollingScores(Duration.ofHours(1), 3, START.plus(Duration.ofHours(2)));
+
+        scores.add(POINTS, START);
+        scores.add(POINTS, START.plus(Duration.ofHours(2)));
+
+        assertEquals(20, scores.top(1).get(0).score());
+    }
+
+    @Test
+    @DisplayName("Expired buckets are subtracted from the totals")
+    void expiredBucketsAreSubtracted() {
+        RollingScores scores = new RollingScores(Duration.ofHours(1), 3, START);
+        scores.add(POINTS, START);
+        scores.advanceTo(START.plus(Duration.ofHours(1)));
+        scores.add(POINTS, START.plus(Duration.ofHours(1)));
+
+        scores.advanceTo(START.plus(Duration.ofHours(3)));
+
+        assertEquals(10, scores.top(1).get(0).score());
+        assertFalse(scores.isCurrent(START.plus(Duration.ofHours(4))));
+    }
+
+    @Test
+    @DisplayName("Skipping past the whole window empties it")
+    void skippingPastWindowEmptiesIt() {
+        RollingScores scores = new RollingScores(Duration.ofHours(1), 3, START);
+        scores.add(POINTS, START);
+
+        scores.advanceTo(START.plus(Duration.ofDays(30)));
+
+        assertTrue(scores.top(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Points older than the window are ignored")
+    void oldPointsAreIgnored() {
+        RollingScores scores = new RollingScores(Duration.ofHours(1), 3, START.plus(Duration.ofHours(5)));
+
+        scores.add(POINTS, START);
+
+        assertTrue(scores.top(1).isEmpty());
+    }
+}
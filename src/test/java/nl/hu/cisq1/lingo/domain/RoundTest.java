@@ -2,6 +2,7 @@ package nl.hu.cisq1.lingo.domain;
 
 import nl.hu.cisq1.lingo.domain.enums.RoundOutcome;
 import nl.hu.cisq1.lingo.domain.exceptions.InvalidActionException;
+import nl.hu.cisq1.lingo.support.StubDictionary;
 
 import java.util.ArrayList;
 import java.util.UUID;
@@ -18,24 +19,6 @@ class RoundTest {
     private static final Dictionary VALID_DICTIONARY = new StubDictionary(true);
     private static final Dictionary INVALID_DICTIONARY = new StubDictionary(false);
 
-    private static class StubDictionary implements Dictionary {
-        private final boolean existsResult;
-
-        public StubDictionary(boolean existsResult) {
-            this.existsResult = existsResult;
-        }
-
-        @Override
-        public boolean exists(String word) {
-            return existsResult;
-        }
-
-        @Override
-        public String randomWord(int length) {
-            return "bruhh";
-        }
-    }
-
     @ParameterizedTest
     @MethodSource("roundOutcomesWon")
     @DisplayName("Round is over only when outcome is WON")
@@ -0,0 +1,143 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import nl.hu.cisq1.lingo.LingoApplication;
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.words.data.WordRepository;
+import nl.hu.cisq1.lingo.words.domain.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test of gameplay under a flood of other requests. Measures the
+ * latency of guesses sent by 4 players while 32 clients keep asking for
+ * random words, which each sort the words table, or for the scoreboard,
+ * which is queried from the games table, with and without bulkheads.
+ *
+ * Runs an HTTP server against the in-memory H2 database of the "ci"
+ * profile, seeded with the 5 to 7 letter words of the development word
+ * list and a few thousand games. Run with:
+ *
+ *       make benchmark BENCHMARK=BulkheadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class BulkheadBenchmark {
+    private static final Path WORD_LIST = Path.of("development", "words", "woorden-opentaal.txt");
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final int SEEDED_GAMES = 2000;
+    private static final Map<String, String> FLOODED = Map.of(
+        "words", "/words/random?length=5",
+        "scoreboard", "/games/scoreboard"
+    );
+
+    @Param({"words", "scoreboard"})
+    public String flood;
+
+    @Param({"false", "true"})
+    public boolean bulkhead;
+
+    private ServletWebServerApplicationContext context;
+    private HttpClient client;
+    private String base;
+
+    @State(Scope.Thread)
+    public static class Player {
+        private String gameId;
+        private int guesses;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        SpringApplication application = new SpringApplication(LingoApplication.class);
+        application.setAdditionalProfiles("ci");
+        context = (ServletWebServerApplicationContext) application.run(
+            "--server.port=0",
+            "--logging.level.root=WARN",
+            "--lingo.words.sampling=database",
+            "--lingo.leaderboard.mode=database",
+            "--lingo.bulkhead.enabled=" + bulkhead
+        );
+        context.getBean(WordRepository.class).saveAll(Files.readAllLines(WORD_LIST).stream()
+            .filter(word -> word.matches("[a-z]{5,7}"))
+            .map(Word::new)
+            .toList());
+        GameService games = context.getBean(GameService.class);
+        for (int i = 0; i < SEEDED_GAMES; i++) {
+            games.startNewGame("Seed" + i);
+        }
+
+        client = HttpClient.newHttpClient();
+        base = "http://localhost:" + context.getWebServer().getPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("flood")
+    @GroupThreads(32)
+    public int flood() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(base + FLOODED.get(flood))).GET());
+    }
+
+    @Benchmark
+    @Group("flood")
+    @GroupThreads(4)
+    public int guess(Player player) throws IOException, InterruptedException {
+        if (player.gameId == null || player.guesses++ % 5 == 0) {
+            player.gameId = start();
+        }
+        return send(HttpRequest.newBuilder(URI.create(base + "/games/" + player.gameId + "/guess"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"attempt\":\"zzzzz\"}")));
+    }
+
+    private String start() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/games"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"Benchmark\"}"))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher id = ID.matcher(response.body());
+        if (!id.find()) {
+            throw new IllegalStateException("no game started: " + response.body());
+        }
+        return id.group(1);
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
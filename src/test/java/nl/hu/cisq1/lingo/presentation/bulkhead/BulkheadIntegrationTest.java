@@ -0,0 +1,76 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.request.StartGameRequest;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs with a scoreboard bulkhead that admits nothing, as if it were
+ * flooded.
+ */
+@SpringBootTest(properties = {
+    "lingo.bulkhead.enabled=true",
+    "lingo.bulkhead.scoreboard.max-concurrent=0",
+    "lingo.bulkhead.scoreboard.max-wait=0s"
+})
+@AutoConfigureMockMvc
+@Import(TestDatabase.class)
+class BulkheadIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        testDatabase.reset(WORD_5);
+    }
+
+    @Test
+    @DisplayName("A saturated class is answered with 503 and Retry-After")
+    void saturatedClassIsRejected() throws Exception {
+        mockMvc.perform(get("/games/scoreboard"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status", is(503)));
+    }
+
+    @Test
+    @DisplayName("Gameplay goes on while the scoreboard is saturated")
+    void gameplayGoesOn() throws Exception {
+        String response = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartGameRequest("JamesMay", false))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String gameId = objectMapper.readTree(response).get("id").asText();
+
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GuessRequest(WORD_5))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score", is(25)));
+    }
+}
@@ -0,0 +1,47 @@
+package nl.hu.cisq1.lingo.presentation.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = new Bulkhead(TrafficClass.SCOREBOARD, 2, Duration.ofMillis(10), registry);
+
+    @Test
+    @DisplayName("Requests beyond the limit are rejected once the wait is over")
+    void saturatedBulkheadRejects() {
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertEquals(1, registry.get(Bulkhead.METRIC + ".rejected").tag("class", "scoreboard").counter().count());
+        assertEquals(2, registry.get(Bulkhead.METRIC + ".active").tag("class", "scoreboard").gauge().value());
+    }
+
+    @Test
+    @DisplayName("A released turn goes to the next request")
+    void releasedTurnIsReused() {
+        bulkhead.acquire();
+        bulkhead.acquire();
+        bulkhead.release();
+
+        assertDoesNotThrow(bulkhead::acquire);
+        assertEquals(3, registry.get(Bulkhead.METRIC + ".wait").tag("class", "scoreboard").timer().count());
+    }
+
+    @Test
+    @DisplayName("Requests are classed by their path and method")
+    void requestsAreClassified() {
+        assertEquals(TrafficClass.GAMEPLAY, TrafficClass.of(new MockHttpServletRequest("POST", "/games/1/guess")));
+        assertEquals(TrafficClass.GAMEPLAY, TrafficClass.of(new MockHttpServletRequest("DELETE", "/games/1")));
+        assertEquals(TrafficClass.GAME_READS, TrafficClass.of(new MockHttpServletRequest("GET", "/games/1")));
+        assertEquals(TrafficClass.SCOREBOARD, TrafficClass.of(new MockHttpServletRequest("GET", "/games/scoreboard")));
+        assertEquals(TrafficClass.WORDS, TrafficClass.of(new MockHttpServletRequest("GET", "/words/random")));
+    }
+}
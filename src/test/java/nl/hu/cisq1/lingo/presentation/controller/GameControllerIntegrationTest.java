@@ -3,9 +3,7 @@ package nl.hu.cisq1.lingo.presentation.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
 import nl.hu.cisq1.lingo.presentation.dto.request.StartGameRequest;
-import nl.hu.cisq1.lingo.repository.GameRepository;
-import nl.hu.cisq1.lingo.words.data.WordRepository;
-import nl.hu.cisq1.lingo.words.domain.Word;
+import nl.hu.cisq1.lingo.support.TestDatabase;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,16 +11,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.UUID;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@Import(TestDatabase.class)
 class GameControllerIntegrationTest {
     private static final String TEST_WORD_5 = "bruhh";
     private static final String TEST_WORD_6 = "kroket";
@@ -30,30 +32,22 @@ class GameControllerIntegrationTest {
     private static final String TEST_USERNAME = "WillSmith";
 
     @Autowired
-    private MockMvc mockMvc;
-
-    @Autowired
-    private ObjectMapper objectMapper;
+    private TestDatabase testDatabase;
 
     @Autowired
-    private GameRepository gameRepository;
+    private MockMvc mockMvc;
 
     @Autowired
-    private WordRepository wordRepository;
+    private ObjectMapper objectMapper;
 
     @BeforeEach
     void setup() {
-        gameRepository.deleteAll();
-        wordRepository.deleteAll();
-        wordRepository.save(new Word(TEST_WORD_5));
-        wordRepository.save(new Word(TEST_WORD_6));
-        wordRepository.save(new Word(TEST_WORD_7));
+        testDatabase.reset(TEST_WORD_5, TEST_WORD_6, TEST_WORD_7);
     }
 
     @AfterEach
     void cleanup() {
-        gameRepository.deleteAll();
-        wordRepository.deleteAll();
+        testDatabase.reset();
     }
 
     @Test
@@ -318,4 +312,262 @@ class GameControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].username", is("MidScorer")))
                 .andExpect(jsonPath("$[1].score", is(20)));
     }
+
+    @Test
+    @DisplayName("Rank of a game counts the games with a higher score")
+    void getRank() throws Exception {
+        MvcResult leader = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartGameRequest("HighScorer", false))))
+                .andReturn();
+        String leaderId = objectMapper.readTree(leader.getResponse().getContentAsString()).get("id").asText();
+        mockMvc.perform(post("/games/" + leaderId + "/guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest(TEST_WORD_5))));
+
+        MvcResult other = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartGameRequest("LowScorer", false))))
+                .andReturn();
+        String otherId = objectMapper.readTree(other.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(get("/games/" + otherId + "/rank"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameId", is(otherId)))
+                .andExpect(jsonPath("$.rank", is(2)));
+    }
+
+    @Test
+    @DisplayName("Rank of a non-existent game returns not found")
+    void getRankOfUnknownGame() throws Exception {
+        mockMvc.perform(get("/games/" + UUID.randomUUID() + "/rank"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Scoreboard can be limited to a window and mode")
+    void scoreboardByWindowAndMode() throws Exception {
+        MvcResult result = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartGameRequest("DailyPlayer", false))))
+                .andReturn();
+        String gameId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest(TEST_WORD_5))));
+
+        mockMvc.perform(get("/games/scoreboard").param("window", "DAY").param("random", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username", is("DailyPlayer")))
+                .andExpect(jsonPath("$[0].score", is(25)))
+                .andExpect(jsonPath("$[0].mode", is("Sequential")));
+
+        mockMvc.perform(get("/games/scoreboard").param("window", "WEEK").param("random", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Unchanged game is answered with not modified")
+    void getGameNotModified() throws Exception {
+        MvcResult created = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartGameRequest("Poller", false))))
+                .andReturn();
+        String gameId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText();
+        String etag = mockMvc.perform(get("/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/games/" + gameId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest("wrong"))));
+
+        mockMvc.perform(get("/games/" + gameId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.currentRound.attemptsRemaining", is(4)));
+    }
+
+    @Test
+    @DisplayName("Unchanged scoreboard is answered with not modified")
+    void getScoreboardNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/games/scoreboard"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/games/scoreboard").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/games")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new StartGameRequest("Newcomer", false))));
+
+        mockMvc.perform(get("/games/scoreboard").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username", is("Newcomer")));
+    }
+
+    @Test
+    @DisplayName("A retried guess with the same Idempotency-Key uses one attempt")
+    void retriedGuessUsesOneAttempt() throws Exception {
+        String gameId = startGameId();
+        String guess = objectMapper.writeValueAsString(new GuessRequest("wrong"));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/games/" + gameId + "/guess")
+                            .header("Idempotency-Key", "guess-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(guess))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.gameState.currentRound.attemptsRemaining", is(4)));
+        }
+
+        mockMvc.perform(get("/games/" + gameId))
+                .andExpect(jsonPath("$.currentRound.attemptsRemaining", is(4)));
+    }
+
+    @Test
+    @DisplayName("A retried new round with the same Idempotency-Key gets the same round")
+    void retriedNewRoundGetsSameRound() throws Exception {
+        String gameId = startGameId();
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest(TEST_WORD_5))));
+
+        String first = mockMvc.perform(post("/games/" + gameId + "/rounds").header("Idempotency-Key", "round-2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/games/" + gameId + "/rounds").header("Idempotency-Key", "round-2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(first));
+    }
+
+    @Test
+    @DisplayName("An Idempotency-Key reused for a different guess is rejected")
+    void reusedKeyIsRejected() throws Exception {
+        String gameId = startGameId();
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                .header("Idempotency-Key", "guess-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest("wrong"))));
+
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                        .header("Idempotency-Key", "guess-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GuessRequest("other"))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Past rounds are paged oldest first")
+    void getPastRounds() throws Exception {
+        String gameId = startGameId();
+        String[] words = {TEST_WORD_5, TEST_WORD_6, TEST_WORD_7};
+        for (String word : words) {
+            mockMvc.perform(post("/games/" + gameId + "/guess")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new GuessRequest(word))));
+            mockMvc.perform(post("/games/" + gameId + "/rounds"));
+        }
+
+        mockMvc.perform(get("/games/" + gameId + "/rounds").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rounds", hasSize(2)))
+                .andExpect(jsonPath("$.rounds[0].targetWord", is(TEST_WORD_5)))
+                .andExpect(jsonPath("$.rounds[1].targetWord", is(TEST_WORD_6)))
+                .andExpect(jsonPath("$.rounds[1].attempts[0].attempt", is(TEST_WORD_6)))
+                .andExpect(jsonPath("$.next", is(2)));
+
+        mockMvc.perform(get("/games/" + gameId + "/rounds").param("after", "2").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rounds", hasSize(1)))
+                .andExpect(jsonPath("$.rounds[0].targetWord", is(TEST_WORD_7)))
+                .andExpect(jsonPath("$.next", nullValue()));
+    }
+
+    @Test
+    @DisplayName("A game without past rounds has an empty history")
+    void getPastRoundsOfNewGame() throws Exception {
+        mockMvc.perform(get("/games/" + startGameId() + "/rounds"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rounds", hasSize(0)))
+                .andExpect(jsonPath("$.next", nullValue()));
+    }
+
+    @Test
+    @DisplayName("Past rounds of a non-existent game returns not found")
+    void getPastRoundsOfUnknownGame() throws Exception {
+        mockMvc.perform(get("/games/" + UUID.randomUUID() + "/rounds"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("A guess preferring a minimal return only answers what changed")
+    void guessWithMinimalReturn() throws Exception {
+        String gameId = startGameId();
+
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                        .header("Prefer", "respond-async, return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GuessRequest("wrong"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(jsonPath("$.feedback.marks", hasSize(5)))
+                .andExpect(jsonPath("$.hint", notNullValue()))
+                .andExpect(jsonPath("$.attemptsRemaining", is(4)))
+                .andExpect(jsonPath("$.state", is("IN_ROUND")))
+                .andExpect(jsonPath("$.score", is(0)))
+                .andExpect(jsonPath("$.version", notNullValue()))
+                .andExpect(jsonPath("$.gameState").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("The version of a minimal guess is the ETag of the game")
+    void minimalGuessVersionIsETag() throws Exception {
+        String gameId = startGameId();
+
+        String response = mockMvc.perform(post("/games/" + gameId + "/guess")
+                        .param("return", "minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GuessRequest(TEST_WORD_5))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("WAITING_FOR_ROUND")))
+                .andExpect(jsonPath("$.targetWord", is(TEST_WORD_5)))
+                .andReturn().getResponse().getContentAsString();
+        String etag = "\"" + objectMapper.readTree(response).get("version").asText() + "\"";
+
+        mockMvc.perform(get("/games/" + gameId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("A guess without a preference answers the whole game")
+    void guessWithoutPreference() throws Exception {
+        String gameId = startGameId();
+
+        mockMvc.perform(post("/games/" + gameId + "/guess")
+                        .header("Prefer", "return=representation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GuessRequest("wrong"))))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Preference-Applied"))
+                .andExpect(jsonPath("$.gameState.currentRound.attempts", hasSize(1)))
+                .andExpect(jsonPath("$.version", notNullValue()));
+    }
+
+    private String startGameId() throws Exception {
+        String response = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartGameRequest(TEST_USERNAME, false))))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asText();
+    }
 }
@@ -0,0 +1,184 @@
+package nl.hu.cisq1.lingo.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.request.StartGameRequest;
+import nl.hu.cisq1.lingo.repository.StatementCounter;
+import nl.hu.cisq1.lingo.repository.StoredGameViewRepository;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Counts the SQL statements of every game endpoint, against games that have
+ * just started and games with past rounds and guesses. The counts may only
+ * go down: raise one and the extra statements are listed in the failure.
+ */
+@SpringBootTest(properties = {
+    "lingo.games.storage=tables",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=nl.hu.cisq1.lingo.repository.StatementCounter"
+})
+@AutoConfigureMockMvc
+@Import(TestDatabase.class)
+class StatementCountIntegrationTest {
+    private static final String[] WORDS = {"bruhh", "kroket", "student"};
+    private static final String WRONG = "zzzzz";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StoredGameViewRepository viewRepository;
+
+    @BeforeEach
+    void setup() {
+        testDatabase.reset(WORDS);
+    }
+
+    @Test
+    @DisplayName("Starting a game picks a word, inserts the game and its round, counts a score change and keeps its version in its view")
+    void startNewGame() {
+        assertStatements(6, this::startGame);
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("Showing a game only reads its view")
+    void getGame(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+
+        assertStatements(1, () -> mockMvc.perform(get("/games/" + gameId)).andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("Revalidating a game without a view only reads its version")
+    void revalidateGameWithoutView(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+        String etag = mockMvc.perform(get("/games/" + gameId)).andReturn().getResponse().getHeader("ETag");
+        viewRepository.deleteById(UUID.fromString(gameId));
+
+        assertStatements(2, () -> mockMvc.perform(get("/games/" + gameId).header("If-None-Match", etag))
+            .andExpect(status().isNotModified()));
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("A guess loads the game, checks the word, writes the guess and its view and moves the version on commit")
+    void guess(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+
+        assertStatements(7, () -> guess(gameId, WRONG).andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("A winning guess also writes the score and counts the change")
+    void winningGuess(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+
+        assertStatements(10, () -> guess(gameId, WORDS[rounds % WORDS.length]).andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("A new round leaves the guesses and past rounds alone")
+    void startNewRound(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+        guess(gameId, WORDS[rounds % WORDS.length]);
+
+        assertStatements(7, () -> mockMvc.perform(post("/games/" + gameId + "/rounds")).andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("Forfeiting loads the game in one query")
+    void forfeit(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+
+        assertStatements(4, () -> mockMvc.perform(delete("/games/" + gameId)).andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("A page of past rounds loads the guesses of all its rounds at once")
+    void getPastRounds(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+
+        assertStatements(2, () -> mockMvc.perform(get("/games/" + gameId + "/rounds")).andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "after {0} rounds")
+    @ValueSource(ints = {0, 3})
+    @DisplayName("A rank only reads scores")
+    void getRank(int rounds) throws Exception {
+        String gameId = playedGame(rounds);
+
+        assertStatements(2, () -> mockMvc.perform(get("/games/" + gameId + "/rank")).andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("The scoreboard reads its version and the top scores")
+    void getScoreboard() throws Exception {
+        playedGame(3);
+
+        assertStatements(2, () -> mockMvc.perform(get("/games/scoreboard")).andExpect(status().isOk()));
+    }
+
+    private void assertStatements(int expected, StatementCounter.Callable call) {
+        List<String> statements = StatementCounter.record(call);
+        assertEquals(expected, statements.size(), () -> String.join("\n", statements));
+    }
+
+    /**
+     * Starts a game, wins the given number of rounds and makes two wrong
+     * guesses in the round after them.
+     */
+    private String playedGame(int rounds) throws Exception {
+        String gameId = startGame();
+        for (int i = 0; i < rounds; i++) {
+            guess(gameId, WORDS[i % WORDS.length]);
+            mockMvc.perform(post("/games/" + gameId + "/rounds"));
+        }
+        guess(gameId, WRONG);
+        guess(gameId, WRONG);
+        return gameId;
+    }
+
+    private String startGame() throws Exception {
+        String response = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartGameRequest("JamesMay", false))))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asText();
+    }
+
+    private ResultActions guess(String gameId, String attempt) throws Exception {
+        return mockMvc.perform(post("/games/" + gameId + "/guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GuessRequest(attempt))));
+    }
+}
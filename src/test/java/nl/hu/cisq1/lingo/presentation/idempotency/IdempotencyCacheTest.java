@@ -0,0 +1,102 @@
+package nl.hu.cisq1.lingo.presentation.idempotency;
+
+import nl.hu.cisq1.lingo.support.TestClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+    private static final UUID GAME = UUID.randomUUID();
+
+    private final TestClock clock = new TestClock();
+
+    private final IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(10), 2, clock);
+    private final AtomicInteger performed = new AtomicInteger();
+
+    @Test
+    @DisplayName("A request with a known key gets the first response")
+    void knownKeyIsAnsweredFromCache() {
+        assertEquals(1, guess("key", "wrong"));
+        assertEquals(1, guess("key", "wrong"));
+        assertEquals(1, performed.get());
+    }
+
+    @Test
+    @DisplayName("Requests without a key are always performed")
+    void requestsWithoutKeyArePerformed() {
+        guess(null, "wrong");
+        guess(null, "wrong");
+
+        assertEquals(2, performed.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("The same key on another game or operation is another request")
+    void keyIsScopedToGameAndOperation() {
+        guess("key", "wrong");
+        cache.respond(UUID.randomUUID(), "guess", "key", "wrong", performed::incrementAndGet);
+        cache.respond(GAME, "rounds", "key", "wrong", performed::incrementAndGet);
+
+        assertEquals(3, performed.get());
+    }
+
+    @Test
+    @DisplayName("A key reused for a different request is rejected")
+    void reusedKeyIsRejected() {
+        guess("key", "wrong");
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> guess("key", "other"));
+    }
+
+    @Test
+    @DisplayName("Responses are forgotten after their time to live")
+    void responsesExpire() {
+        guess("key", "wrong");
+        clock.advance(Duration.ofMinutes(10));
+
+        assertEquals(2, guess("key", "wrong"));
+    }
+
+    @Test
+    @DisplayName("The oldest response goes first once the cache is full")
+    void oldestIsEvicted() {
+        guess("first", "wrong");
+        guess("second", "wrong");
+        guess("third", "wrong");
+
+        assertEquals(2, cache.size());
+        assertEquals(4, guess("first", "wrong"));
+        assertEquals(3, guess("third", "wrong"));
+    }
+
+    @Test
+    @DisplayName("A failed request is not remembered")
+    void failuresAreNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.respond(GAME, "guess", "key", "wrong", () -> {
+            throw new IllegalStateException("broken");
+        }));
+
+        assertEquals(1, guess("key", "wrong"));
+    }
+
+    @Test
+    @DisplayName("A request that fails with an error is not remembered either")
+    void errorsAreNotCached() {
+        assertThrows(Error.class, () -> cache.respond(GAME, "guess", "key", "wrong", () -> {
+            throw new Error("broken");
+        }));
+
+        assertEquals(0, cache.size());
+        assertEquals(1, guess("key", "wrong"));
+    }
+
+    private int guess(String key, String attempt) {
+        return cache.respond(GAME, "guess", key, attempt, performed::incrementAndGet);
+    }
+}
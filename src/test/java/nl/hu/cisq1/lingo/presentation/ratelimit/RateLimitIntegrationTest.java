@@ -0,0 +1,125 @@
+package nl.hu.cisq1.lingo.presentation.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hu.cisq1.lingo.presentation.dto.request.StartGameRequest;
+import nl.hu.cisq1.lingo.support.TestClock;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Clock;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs with limits that barely refill, on a clock that stands still, so
+ * every test uses an address of its own.
+ */
+@SpringBootTest(properties = {
+    "lingo.rate-limit.enabled=true",
+    "lingo.rate-limit.user.rate=0.01",
+    "lingo.rate-limit.user.burst=2",
+    "lingo.rate-limit.address.rate=0.01",
+    "lingo.rate-limit.address.burst=4"
+})
+@AutoConfigureMockMvc
+@Import(TestDatabase.class)
+class RateLimitIntegrationTest {
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        testDatabase.reset("bruhh");
+    }
+
+    @Test
+    @DisplayName("A player starting games too fast gets 429 and Retry-After")
+    void playerIsLimited() throws Exception {
+        startGame("10.0.0.1", "JamesMay").andExpect(status().isCreated());
+        startGame("10.0.0.1", "JamesMay").andExpect(status().isCreated());
+
+        startGame("10.0.0.1", "JamesMay")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"))
+                .andExpect(jsonPath("$.status", is(429)));
+        startGame("10.0.0.1", "RichardHammond").andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Games started without a player name are limited by address")
+    void gamesWithoutPlayerAreLimitedByAddress() throws Exception {
+        startGame("10.0.0.5", null).andExpect(status().isCreated());
+        startGame("10.0.0.5", null).andExpect(status().isCreated());
+
+        startGame("10.0.0.5", null).andExpect(status().isTooManyRequests());
+        startGame("10.0.0.6", null).andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("An address sending gameplay requests too fast gets 429")
+    void addressIsLimited() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            startGame("10.0.0.2", "Player" + i).andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(delete("/games/00000000-0000-0000-0000-000000000000")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests());
+        startGame("10.0.0.3", "Player5").andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Reading games is not limited")
+    void readsAreNotLimited() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            mockMvc.perform(get("/games/scoreboard")
+                            .with(request -> {
+                                request.setRemoteAddr("10.0.0.4");
+                                return request;
+                            }))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @TestConfiguration
+    static class StandingClock {
+        @Bean
+        @Primary
+        public Clock testClock() {
+            return new TestClock();
+        }
+    }
+
+    private ResultActions startGame(String address, String username) throws Exception {
+        return mockMvc.perform(post("/games")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new StartGameRequest(username, false))));
+    }
+}
@@ -0,0 +1,98 @@
+package nl.hu.cisq1.lingo.presentation.ratelimit;
+
+import nl.hu.cisq1.lingo.support.TestClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+    private final TestClock clock = new TestClock();
+
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("user", 2, 3, clock);
+
+    @Test
+    @DisplayName("A client may send a burst of requests at once")
+    void burstIsAdmitted() {
+        assertDoesNotThrow(() -> {
+            limiter.admit("JamesMay");
+            limiter.admit("JamesMay");
+            limiter.admit("JamesMay");
+        });
+    }
+
+    @Test
+    @DisplayName("A request past the burst is told when to retry")
+    void requestPastBurstIsRejected() {
+        for (int i = 0; i < 3; i++) {
+            limiter.admit("JamesMay");
+        }
+
+        RateLimitedException rejected = assertThrows(RateLimitedException.class, () -> limiter.admit("JamesMay"));
+
+        assertEquals(Duration.ofMillis(500), rejected.getRetryAfter());
+    }
+
+    @Test
+    @DisplayName("Tokens come back at the rate")
+    void tokensRefill() {
+        for (int i = 0; i < 3; i++) {
+            limiter.admit("JamesMay");
+        }
+
+        clock.advance(Duration.ofMillis(500));
+        limiter.admit("JamesMay");
+
+        assertThrows(RateLimitedException.class, () -> limiter.admit("JamesMay"));
+    }
+
+    @Test
+    @DisplayName("A rejected request does not take a token")
+    void rejectionIsFree() {
+        for (int i = 0; i < 3; i++) {
+            limiter.admit("JamesMay");
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThrows(RateLimitedException.class, () -> limiter.admit("JamesMay"));
+        }
+
+        clock.advance(Duration.ofMillis(500));
+
+        assertDoesNotThrow(() -> limiter.admit("JamesMay"));
+    }
+
+    @Test
+    @DisplayName("Clients have their own buckets")
+    void clientsAreSeparate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.admit("JamesMay");
+        }
+
+        assertDoesNotThrow(() -> limiter.admit("RichardHammond"));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    @DisplayName("Buckets that filled up again are dropped")
+    void fullBucketsAreDropped() {
+        limiter.admit("JamesMay");
+        limiter.admit("RichardHammond");
+
+        clock.advance(Duration.ofSeconds(2));
+        limiter.admit("JeremyClarkson");
+        assertEquals(3, limiter.size());
+
+        limiter.dropFullBuckets();
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @DisplayName("A limit needs a positive rate and burst")
+    void limitIsValidated() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter("user", 0, 3, clock));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter("user", 1, 0, clock));
+    }
+}
@@ -0,0 +1,93 @@
+package nl.hu.cisq1.lingo.presentation.stream;
+
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestDatabase.class)
+class ScoreboardBroadcasterIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ScoreboardBroadcaster broadcaster;
+
+    @Autowired
+    private GameService gameService;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5);
+    }
+
+    @Test
+    @DisplayName("Subscribers receive the scoreboard when they connect")
+    void subscribersReceiveCurrentScoreboard() throws Exception {
+        MockHttpServletResponse response = subscribe();
+
+        awaitContent(response, "event:" + ScoreboardBroadcaster.EVENT + "\ndata:[");
+        assertTrue(response.getContentAsString().startsWith("event:" + ScoreboardBroadcaster.EVENT + "\ndata:["));
+    }
+
+    @Test
+    @DisplayName("A changed score is pushed to subscribers")
+    void changedScoreIsPushed() throws Exception {
+        MockHttpServletResponse response = subscribe();
+
+        UUID gameId = gameService.startNewGame("StreamPlayer").id();
+        gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+
+        awaitContent(response, "{\"username\":\"StreamPlayer\",\"score\":25,\"mode\":\"Sequential\"}");
+    }
+
+    @Test
+    @DisplayName("An unchanged scoreboard is not sent again")
+    void unchangedScoreboardIsNotSent() throws Exception {
+        broadcaster.broadcast();
+        MockHttpServletResponse response = subscribe();
+        awaitContent(response, "event:" + ScoreboardBroadcaster.EVENT);
+        String received = response.getContentAsString();
+
+        assertFalse(broadcaster.broadcast());
+        assertEquals(received, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        return mockMvc.perform(get("/games/scoreboard/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(expected)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("expected " + expected + " in " + response.getContentAsString());
+            }
+            Thread.sleep(20);
+        }
+    }
+}
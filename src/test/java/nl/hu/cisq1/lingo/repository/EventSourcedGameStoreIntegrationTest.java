@@ -0,0 +1,115 @@
+package nl.hu.cisq1.lingo.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.domain.GameEvent;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.storage=events",
+    "lingo.games.events.snapshot-every=4",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TestDatabase.class)
+class EventSourcedGameStoreIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+    private static final String WORD_6 = "kroket";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private EventSnapshotRepository eventSnapshotRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5, WORD_6);
+    }
+
+    @Test
+    @DisplayName("Games are rebuilt from their events")
+    void gamesAreRebuiltFromEvents() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+        gameService.startNewRound(gameId);
+        gameService.makeGuess(gameId, new GuessRequest("kroken"));
+
+        GameResponse game = gameService.getGame(gameId);
+
+        assertEquals(GameState.IN_ROUND, game.state());
+        assertEquals(25, game.score());
+        assertEquals(WORD_6.length(), game.lastWordLength());
+        assertEquals(1, game.currentRound().attempts().size());
+        assertEquals(1, gameStore.findById(gameId).orElseThrow().toSnapshot().pastRounds().size());
+        assertEquals(25, gameService.getScoreboard().get(0).score());
+    }
+
+    @Test
+    @DisplayName("Every change of a game is kept as an event")
+    void changesAreKeptAsEvents() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+        gameService.forfeitGame(gameId);
+
+        List<GameEvent> events = ((EventSourcedGameStore) gameStore).findEvents(gameId);
+
+        assertInstanceOf(GameEvent.GameStarted.class, events.get(0));
+        assertInstanceOf(GameEvent.RoundStarted.class, events.get(1));
+        assertEquals("kroke", assertInstanceOf(GameEvent.Guessed.class, events.get(2)).attempt());
+        assertInstanceOf(GameEvent.Forfeited.class, events.get(3));
+        assertEquals("4", gameService.getGameVersion(gameId));
+    }
+
+    @Test
+    @DisplayName("A guess that does not score only inserts its event")
+    void guessOnlyInsertsEvent() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+
+        assertEquals(1, statistics.getEntityStatistics(StoredEvent.class.getName()).getInsertCount());
+        assertEquals(0, statistics.getEntityStatistics(EventSnapshot.class.getName()).getUpdateCount());
+    }
+
+    @Test
+    @DisplayName("Games are snapshotted every few events")
+    void gamesAreSnapshottedPeriodically() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+        gameService.makeGuess(gameId, new GuessRequest("krokt"));
+        assertEquals(2, eventSnapshotRepository.findById(gameId).orElseThrow().getSequence());
+
+        gameService.makeGuess(gameId, new GuessRequest("kroka"));
+        gameService.makeGuess(gameId, new GuessRequest("kroko"));
+
+        assertEquals(6, eventSnapshotRepository.findById(gameId).orElseThrow().getSequence());
+        assertEquals(4, gameService.getGame(gameId).currentRound().attempts().size());
+    }
+}
@@ -0,0 +1,95 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.LingoApplication;
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.words.data.WordRepository;
+import nl.hu.cisq1.lingo.words.domain.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many guesses per second each game store writes, playing
+ * games of five guesses that are not words through the GameService.
+ *
+ * Runs against the in-memory H2 database of the "ci" profile, which also
+ * holds the words for every store. Run with:
+ *
+ *       make benchmark BENCHMARK=GameStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(1)
+public class GameStoreBenchmark {
+    private static final GuessRequest WRONG = new GuessRequest("zzzzz");
+
+    @Param({"tables", "snapshot", "journal", "events"})
+    public String storage;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+    private Path journal;
+    private UUID gameId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        journal = Files.createTempDirectory("lingo-journal");
+
+        SpringApplication application = new SpringApplication(LingoApplication.class);
+        application.setAdditionalProfiles("ci");
+        context = application.run(
+            "--spring.main.web-application-type=none",
+            "--logging.level.root=WARN",
+            "--lingo.words.sampling=database",
+            "--lingo.games.storage=" + storage,
+            "--lingo.games.journal.path=" + journal
+        );
+        context.getBean(WordRepository.class).saveAll(List.of(
+            new Word("groep"), new Word("kroket"), new Word("fietsen"), new Word("bruhh")
+        ));
+
+        gameService = context.getBean(GameService.class);
+        gameId = gameService.startNewGame("Benchmark").id();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        FileSystemUtils.deleteRecursively(journal.toFile());
+    }
+
+    @Benchmark
+    public GuessResponse guess() {
+        GuessResponse response = gameService.makeGuess(gameId, WRONG);
+        if (response.gameState().state() != GameState.IN_ROUND) {
+            gameId = gameService.startNewGame("Benchmark").id();
+        }
+        return response;
+    }
+}
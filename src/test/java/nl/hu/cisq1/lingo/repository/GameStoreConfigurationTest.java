@@ -0,0 +1,64 @@
+package nl.hu.cisq1.lingo.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameStoreConfigurationTest {
+    private final GameStoreConfiguration configuration = new GameStoreConfiguration();
+
+    @Test
+    @DisplayName("Event storage is rejected behind write-behind, which would lose its games")
+    void eventsCannotBeWrittenBehind() {
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> gameStore("events", true));
+
+        assertTrue(failure.getMessage().contains("event storage"));
+    }
+
+    @Test
+    @DisplayName("Event storage is used as is without write-behind")
+    void eventsWithoutWriteBehind() {
+        assertInstanceOf(EventSourcedGameStore.class, gameStore("events", false));
+    }
+
+    @Test
+    @DisplayName("Unknown storage is rejected")
+    void unknownStorageIsRejected() {
+        assertThrows(IllegalStateException.class, () -> gameStore("carrier-pigeon", false));
+    }
+
+    private GameStore gameStore(String storage, boolean writeBehind) {
+        return configuration.gameStore(
+            storage,
+            Path.of("development/journal"),
+            DataSize.ofMegabytes(1),
+            false,
+            20,
+            writeBehind,
+            "round-end",
+            Duration.ofSeconds(1),
+            100,
+            10000,
+            Duration.ofMinutes(10),
+            "database",
+            mock(GameRepository.class),
+            mock(RoundRepository.class),
+            mock(EntityManager.class),
+            mock(StoredGameRepository.class),
+            mock(StoredEventRepository.class),
+            mock(EventSnapshotRepository.class),
+            mock(ScoreVersionRepository.class),
+            new ObjectMapper(),
+            mock(PlatformTransactionManager.class)
+        );
+    }
+}
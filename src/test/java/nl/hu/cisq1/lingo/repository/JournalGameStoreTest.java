@@ -0,0 +1,249 @@
+package nl.hu.cisq1.lingo.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalGameStoreTest {
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    private static final Dictionary DICTIONARY = new Dictionary() {
+        @Override
+        public boolean exists(String word) {
+            return word.startsWith("b");
+        }
+
+        @Override
+        public String randomWord(int length) {
+            return "b".repeat(length);
+        }
+    };
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Games are read back from the journal")
+    void gamesSurviveReopening() {
+        JournalGameStore store = open(SEGMENT_SIZE);
+        Game game = start(store, "JamesMay");
+        game = guess(store, game, "bbbbb");
+        game.startNewRound(DICTIONARY);
+        game = store.save(game);
+        game = guess(store, game, "baaaaa");
+
+        JournalGameStore reopened = open(SEGMENT_SIZE);
+
+        assertEquals(game.toSnapshot(), reopened.findById(game.getId()).orElseThrow().toSnapshot());
+        assertEquals(store.scoreVersion(), reopened.scoreVersion());
+        assertEquals(1, reopened.findTopScores().size());
+    }
+
+    @Test
+    @DisplayName("A forfeited game stays over")
+    void forfeitIsKept() {
+        JournalGameStore store = open(SEGMENT_SIZE);
+        Game game = start(store, "JamesMay");
+        game.forfeit();
+        store.save(game);
+
+        assertEquals(GameState.ELIMINATED, open(SEGMENT_SIZE).findById(game.getId()).orElseThrow().getState());
+    }
+
+    @Test
+    @DisplayName("A full segment is replaced by a snapshot of all games")
+    void fullSegmentIsSnapshotted() throws IOException {
+        JournalGameStore store = open(4096);
+        List<UUID> games = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Game game = start(store, "Player" + i);
+            guess(store, game, "baaaa");
+            games.add(game.getId());
+        }
+        // Snapshots are written in the background
+        awaitFiles("segment-", 1);
+
+        JournalGameStore reopened = open(4096);
+
+        assertEquals(1, files("snapshot-").size());
+        assertTrue(store.position().segment() > 0);
+        assertEquals(1, files("segment-").size());
+        games.forEach(id -> assertEquals(1, reopened.findById(id).orElseThrow().getCurrentRound().getAttemptsUsed()));
+        assertEquals(40, reopened.countWithScoreAbove(-1));
+    }
+
+    @Test
+    @DisplayName("A record cut off by a crash is dropped and overwritten")
+    void recordCutOffIsDropped() throws IOException {
+        JournalGameStore crashed = open(SEGMENT_SIZE);
+        Game game = start(crashed, "JamesMay");
+        game = guess(crashed, game, "baaaa");
+        int written = crashed.position().offset();
+        guess(crashed, game, "bbaaa");
+        int cut = (written + crashed.position().offset()) / 2;
+
+        try (FileChannel segment = FileChannel.open(files("segment-").get(0), StandardOpenOption.WRITE)) {
+            segment.truncate(cut);
+        }
+
+        JournalGameStore recovered = open(SEGMENT_SIZE);
+        Game kept = recovered.findById(game.getId()).orElseThrow();
+        assertEquals(1, kept.getCurrentRound().getAttemptsUsed());
+        assertEquals(written, recovered.position().offset());
+
+        guess(recovered, kept, "bbbaa");
+        assertEquals(2, open(SEGMENT_SIZE).findById(game.getId()).orElseThrow().getCurrentRound().getAttemptsUsed());
+    }
+
+    @Test
+    @DisplayName("A damaged record ends the journal")
+    void damagedRecordEndsJournal() throws IOException {
+        JournalGameStore damaged = open(SEGMENT_SIZE);
+        Game game = start(damaged, "JamesMay");
+        int written = damaged.position().offset();
+        guess(damaged, game, "baaaa");
+
+        try (FileChannel segment = FileChannel.open(files("segment-").get(0), StandardOpenOption.WRITE)) {
+            segment.write(ByteBuffer.wrap(new byte[]{'?'}), written + 20);
+        }
+
+        assertEquals(0, open(SEGMENT_SIZE).findById(game.getId()).orElseThrow().getCurrentRound().getAttemptsUsed());
+    }
+
+    @Test
+    @DisplayName("Saving an outdated copy of a game is rejected")
+    void outdatedCopyIsRejected() {
+        JournalGameStore store = open(SEGMENT_SIZE);
+        Game game = start(store, "JamesMay");
+        Game outdated = store.findById(game.getId()).orElseThrow();
+        guess(store, game, "baaaa");
+
+        outdated.guess("bbaaa", DICTIONARY);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(outdated));
+    }
+
+    @Test
+    @DisplayName("Saves in a transaction that rolls back are not journaled")
+    void rolledBackSavesAreDropped() {
+        JournalGameStore store = open(SEGMENT_SIZE);
+        Game game = start(store, "JamesMay");
+
+        inTransaction(false, () -> {
+            Game guessed = guess(store, store.findById(game.getId()).orElseThrow(), "baaaa");
+            assertEquals(1, store.findById(guessed.getId()).orElseThrow().getCurrentRound().getAttemptsUsed());
+        });
+
+        assertEquals(0, store.findById(game.getId()).orElseThrow().getCurrentRound().getAttemptsUsed());
+        assertEquals(0, open(SEGMENT_SIZE).findById(game.getId()).orElseThrow().getCurrentRound().getAttemptsUsed());
+    }
+
+    @Test
+    @DisplayName("Saves in a transaction are journaled once it commits")
+    void committedSavesAreJournaled() {
+        JournalGameStore store = open(SEGMENT_SIZE);
+        UUID[] id = new UUID[1];
+
+        inTransaction(true, () -> {
+            Game game = start(store, "JamesMay");
+            guess(store, game, "baaaa");
+            id[0] = game.getId();
+        });
+
+        assertEquals(1, open(SEGMENT_SIZE).findById(id[0]).orElseThrow().getCurrentRound().getAttemptsUsed());
+    }
+
+    @Test
+    @DisplayName("A game staged by one transaction cannot be saved by another")
+    void stagedGameIsNotSavedTwice() {
+        JournalGameStore store = open(SEGMENT_SIZE);
+        Game game = start(store, "JamesMay");
+        Game other = store.findById(game.getId()).orElseThrow();
+
+        inTransaction(true, () -> {
+            guess(store, game, "baaaa");
+
+            // Another thread is outside of this transaction
+            CompletableFuture<Game> racing = CompletableFuture.supplyAsync(() -> guess(store, other, "bbaaa"));
+            CompletionException failure = assertThrows(CompletionException.class, racing::join);
+            assertInstanceOf(OptimisticLockingFailureException.class, failure.getCause());
+        });
+
+        assertEquals(1, store.findById(game.getId()).orElseThrow().getCurrentRound().getAttemptsUsed());
+    }
+
+    private JournalGameStore open(int segmentSize) {
+        return JournalGameStore.open(directory, segmentSize, false, mapper);
+    }
+
+    private Game start(JournalGameStore store, String username) {
+        Game game = new Game();
+        game.setUsername(username);
+        game.startGame(DICTIONARY);
+        return store.save(game);
+    }
+
+    private Game guess(JournalGameStore store, Game game, String attempt) {
+        game.guess(attempt, DICTIONARY);
+        return store.save(game);
+    }
+
+    /**
+     * Runs the work as if in a transaction, which commits or rolls back after it.
+     */
+    private void inTransaction(boolean commit, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(commit
+                ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void awaitFiles(String prefix, int count) throws IOException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (files(prefix).size() != count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("expected " + count + " files starting with " + prefix + " in " + files(prefix));
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package nl.hu.cisq1.lingo.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.Round;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.storage=tables",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TestDatabase.class)
+class JpaGameStoreIntegrationTest {
+    private static final String[] WORDS = {"bruhh", "kroket", "student"};
+    private static final String PAST_ROUNDS = Game.class.getName() + ".pastRounds";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORDS);
+    }
+
+    @Test
+    @DisplayName("Playing on does not load the past rounds")
+    void pastRoundsAreNotLoaded() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        winRounds(gameId, 3);
+        statistics().clear();
+
+        gameService.startNewRound(gameId);
+        gameService.makeGuess(gameId, new GuessRequest(WORDS[0]));
+
+        assertEquals(0, statistics().getCollectionStatistics(PAST_ROUNDS).getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Past rounds are found by their number, oldest first")
+    void pastRoundsArePagedByNumber() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        winRounds(gameId, 3);
+        gameService.startNewRound(gameId);
+
+        List<Round> first = gameStore.findPastRounds(gameId, 0, 2);
+        List<Round> rest = gameStore.findPastRounds(gameId, 2, 2);
+
+        assertEquals(List.of(1, 2), first.stream().map(Round::getNumber).toList());
+        assertEquals(List.of(3), rest.stream().map(Round::getNumber).toList());
+        assertEquals(WORDS[2], rest.get(0).getTargetWord().orElseThrow());
+        assertEquals(4, gameStore.findById(gameId).orElseThrow().getCurrentRound().getNumber());
+    }
+
+    @Test
+    @DisplayName("The score version only moves when a game is added or its score changes")
+    void scoreVersionFollowsScores() {
+        String before = gameStore.scoreVersion();
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        String started = gameStore.scoreVersion();
+
+        gameService.makeGuess(gameId, new GuessRequest("zzzzz"));
+        String guessed = gameStore.scoreVersion();
+        gameService.makeGuess(gameId, new GuessRequest(WORDS[0]));
+
+        assertNotEquals(before, started);
+        assertEquals(started, guessed);
+        assertNotEquals(guessed, gameStore.scoreVersion());
+    }
+
+    @Test
+    @DisplayName("A guess answers with the version its commit gives the game")
+    void guessAnswersWithCommittedVersion() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+
+        String wrong = gameService.makeGuess(gameId, new GuessRequest("zzzzz")).version();
+        assertEquals(gameStore.findVersion(gameId).orElseThrow(), wrong);
+
+        String won = gameService.makeGuess(gameId, new GuessRequest(WORDS[0])).version();
+        assertEquals(gameStore.findVersion(gameId).orElseThrow(), won);
+        assertNotEquals(wrong, won);
+    }
+
+    private void winRounds(UUID gameId, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            if (i > 0) {
+                gameService.startNewRound(gameId);
+            }
+            gameService.makeGuess(gameId, new GuessRequest(WORDS[i % WORDS.length]));
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
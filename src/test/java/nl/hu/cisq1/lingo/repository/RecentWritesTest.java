@@ -0,0 +1,63 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentWritesTest {
+    private static final UUID GAME = UUID.randomUUID();
+
+    private final RecentWrites recentWrites = new RecentWrites(
+        Duration.ofSeconds(1),
+        Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneOffset.UTC)
+    );
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("A write outside a transaction is remembered right away")
+    void writeWithoutTransactionIsRemembered() {
+        recentWrites.written(GAME);
+
+        assertTrue(recentWrites.isWrittenLately(GAME));
+    }
+
+    @Test
+    @DisplayName("A write in a transaction is only remembered once it committed")
+    void writeIsRememberedOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        recentWrites.written(GAME);
+        assertFalse(recentWrites.isWrittenLately(GAME));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(recentWrites.isWrittenLately(GAME));
+    }
+
+    @Test
+    @DisplayName("A write that rolled back is not remembered")
+    void rolledBackWriteIsForgotten() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        recentWrites.written(GAME);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertFalse(recentWrites.isWrittenLately(GAME));
+    }
+}
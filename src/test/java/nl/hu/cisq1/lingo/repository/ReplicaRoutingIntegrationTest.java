@@ -0,0 +1,105 @@
+package nl.hu.cisq1.lingo.repository;
+
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs with a second in-memory H2 database as the replica. Instead of
+ * replicating, the test copies the primary to the replica when it wants the
+ * replica to catch up.
+ */
+@SpringBootTest(properties = {
+    "lingo.datasource.replica.enabled=true",
+    "lingo.datasource.replica.url=jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+    "lingo.datasource.replica.username=sa",
+    "lingo.datasource.replica.max-lag=200ms"
+})
+@Import(TestDatabase.class)
+class ReplicaRoutingIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5);
+    }
+
+    @Test
+    @DisplayName("Reads of a game not written lately come from the replica")
+    void readsComeFromReplica() throws InterruptedException {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        catchUp();
+        Thread.sleep(300);
+
+        gameService.makeGuess(gameId, new GuessRequest("zzzzz"));
+        Thread.sleep(300);
+
+        // The replica has not seen the guess
+        assertEquals(0, gameService.getGame(gameId).currentRound().attempts().size());
+        catchUp();
+        assertEquals(1, gameService.getGame(gameId).currentRound().attempts().size());
+    }
+
+    @Test
+    @DisplayName("A game written lately is read from the primary")
+    void recentWritesAreReadFromPrimary() throws InterruptedException {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        catchUp();
+        Thread.sleep(300);
+        String version = gameService.getGameVersion(gameId);
+
+        gameService.makeGuess(gameId, new GuessRequest("zzzzz"));
+
+        assertEquals(1, gameService.getGame(gameId).currentRound().attempts().size());
+        assertNotEquals(version, gameService.getGameVersion(gameId));
+    }
+
+    @Test
+    @DisplayName("Writes go to the primary only")
+    void writesGoToPrimary() {
+        catchUp();
+
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+
+        assertEquals(1, count(primary, gameId));
+        assertEquals(0, count(replica, gameId));
+    }
+
+    private void catchUp() {
+        JdbcTemplate source = new JdbcTemplate(primary);
+        JdbcTemplate target = new JdbcTemplate(replica);
+        target.execute("DROP ALL OBJECTS");
+        source.queryForList("SCRIPT", String.class).forEach(target::execute);
+    }
+
+    private static int count(DataSource dataSource, UUID gameId) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM games WHERE id = ?", Integer.class, gameId);
+    }
+}
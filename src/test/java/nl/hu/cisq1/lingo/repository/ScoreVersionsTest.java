@@ -0,0 +1,55 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScoreVersionsTest {
+    private final ScoreVersionRepository repository = mock(ScoreVersionRepository.class);
+    private final ScoreVersions versions = new ScoreVersions(repository, true);
+
+    @Test
+    @DisplayName("The first change creates the counter row")
+    void firstChangeCreatesRow() {
+        when(repository.increment(ScoreVersion.ID)).thenReturn(0);
+
+        versions.changed();
+
+        verify(repository).saveAndFlush(argThat(version -> version.getVersion() == 1));
+    }
+
+    @Test
+    @DisplayName("A counter row created concurrently is reported as a lost race")
+    void concurrentCreateIsConflict() {
+        when(repository.increment(ScoreVersion.ID)).thenReturn(0);
+        when(repository.saveAndFlush(any(ScoreVersion.class))).thenThrow(new DuplicateKeyException("score_version_pkey"));
+
+        assertThrows(OptimisticLockingFailureException.class, versions::changed);
+    }
+
+    @Test
+    @DisplayName("Without a counter row nothing has changed yet")
+    void missingRowIsZero() {
+        when(repository.findVersionById(ScoreVersion.ID)).thenReturn(Optional.empty());
+
+        assertEquals("0", versions.current());
+    }
+
+    @Test
+    @DisplayName("Changes are not counted when the scoreboard does not read them")
+    void notKeptSkipsCounter() {
+        ScoreVersions ignored = new ScoreVersions(repository, false);
+
+        ignored.changed();
+
+        verifyNoInteractions(repository);
+        assertThrows(IllegalStateException.class, ignored::current);
+    }
+}
@@ -0,0 +1,138 @@
+package nl.hu.cisq1.lingo.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.domain.enums.GameState;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GameResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.storage=snapshot",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TestDatabase.class)
+class SnapshotGameStoreIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+    private static final String WORD_6 = "kroket";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private StoredGameRepository storedGameRepository;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private Dictionary dictionary;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5, WORD_6);
+    }
+
+    @Test
+    @DisplayName("Games are stored as a single row")
+    void gamesAreStoredAsSingleRow() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+        gameService.startNewRound(gameId);
+
+        GameResponse game = gameService.getGame(gameId);
+
+        assertEquals(1, storedGameRepository.count());
+        assertEquals(GameState.IN_ROUND, game.state());
+        assertEquals(25, game.score());
+        assertEquals(WORD_6.length(), game.lastWordLength());
+        assertEquals(25, gameService.getScoreboard().get(0).score());
+    }
+
+    @Test
+    @DisplayName("Rounds keep their id once stored")
+    void roundsKeepTheirId() {
+        GameResponse started = gameService.startNewGame("JamesMay");
+
+        GuessResponse response = gameService.makeGuess(started.id(), new GuessRequest("kroke"));
+
+        assertNotNull(started.currentRound().id());
+        assertEquals(started.currentRound().id(), response.gameState().currentRound().id());
+    }
+
+    @Test
+    @DisplayName("Every save changes the version of the game")
+    void saveChangesVersion() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        String version = gameService.getGameVersion(gameId);
+
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+
+        assertNotEquals(version, gameService.getGameVersion(gameId));
+    }
+
+    @Test
+    @DisplayName("A game changed after it was read is not written over")
+    void staleGameIsRejected() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        Game read = gameStore.findById(gameId).orElseThrow();
+
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+        read.guess(WORD_5, dictionary);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> gameStore.save(read));
+        assertEquals(0, gameService.getGame(gameId).score());
+    }
+
+    @Test
+    @DisplayName("A game that was deleted is not stored again")
+    void deletedGameIsNotResurrected() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        Game read = gameStore.findById(gameId).orElseThrow();
+        storedGameRepository.deleteById(gameId);
+
+        read.guess("kroke", dictionary);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> gameStore.save(read));
+        assertTrue(storedGameRepository.findById(gameId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A guess reads and writes only the game row")
+    void guessReadsAndWritesOneRow() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+        gameService.startNewRound(gameId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        gameService.makeGuess(gameId, new GuessRequest("kroken"));
+
+        assertEquals(1, statistics.getEntityStatistics(StoredGame.class.getName()).getLoadCount());
+        assertEquals(1, statistics.getEntityStatistics(StoredGame.class.getName()).getUpdateCount());
+        // The dictionary lookup, the select and the update of the game row, its version and the update of its view
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,46 @@
+package nl.hu.cisq1.lingo.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL statements Hibernate prepares on the current thread, so a
+ * test can count the statements of a single call. Plug it in with:
+ *
+ *       spring.jpa.properties.hibernate.session_factory.statement_inspector=nl.hu.cisq1.lingo.repository.StatementCounter
+ */
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs the call and returns the statements it prepared, in order.
+     */
+    public static List<String> record(Callable call) {
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            call.call();
+        } catch (Exception e) {
+            throw new IllegalStateException("recorded call failed", e);
+        } finally {
+            RECORDED.remove();
+        }
+        return recorded;
+    }
+
+    @FunctionalInterface
+    public interface Callable {
+        void call() throws Exception;
+    }
+}
@@ -0,0 +1,318 @@
+package nl.hu.cisq1.lingo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import nl.hu.cisq1.lingo.application.GameService;
+import nl.hu.cisq1.lingo.application.ScoreChanged;
+import nl.hu.cisq1.lingo.domain.Dictionary;
+import nl.hu.cisq1.lingo.domain.Game;
+import nl.hu.cisq1.lingo.presentation.dto.request.GuessRequest;
+import nl.hu.cisq1.lingo.presentation.dto.response.GuessResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.RoundHistoryResponse;
+import nl.hu.cisq1.lingo.presentation.dto.response.RoundResponse;
+import nl.hu.cisq1.lingo.support.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "lingo.games.write-behind.enabled=true",
+    "lingo.games.write-behind.durability=interval",
+    "lingo.games.write-behind.flush-interval=1h",
+    "lingo.games.views.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TestDatabase.class)
+class WriteBehindGameStoreIntegrationTest {
+    private static final String WORD_5 = "bruhh";
+    private static final String WORD_6 = "kroket";
+    private static final String WORD_7 = "fietsen";
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private ScoreVersionRepository scoreVersionRepository;
+
+    @Autowired
+    private Dictionary dictionary;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ScoreEventRepository scoreEventRepository;
+
+    @Autowired
+    private FailingScoreListener failingScoreListener;
+
+    @BeforeEach
+    void resetDatabase() {
+        testDatabase.reset(WORD_5, WORD_6, WORD_7);
+    }
+
+    @Test
+    @DisplayName("A guess is kept in memory until the next flush")
+    void guessIsWrittenOnFlush() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+
+        assertEquals(1, gameService.getGame(gameId).currentRound().attempts().size());
+        assertEquals(0, feedbackRows());
+
+        registry().flush();
+
+        assertEquals(1, feedbackRows());
+    }
+
+    @Test
+    @DisplayName("A guess on a kept game does not write to the database")
+    void guessDoesNotWrite() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.getGame(gameId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+
+        // Only the dictionary lookup
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Flushing a game again only adds what changed")
+    void repeatedFlushesDoNotDuplicate() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+        registry().flush();
+        gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+        gameService.startNewRound(gameId);
+        registry().flush();
+
+        assertEquals(2, feedbackRows());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rounds", Integer.class));
+        assertEquals(20, gameRepository.findById(gameId).orElseThrow().getScore());
+    }
+
+    @Test
+    @DisplayName("A guess in a later round costs as much as one in the first round")
+    void laterRoundsCostTheSame() {
+        UUID first = gameService.startNewGame("JamesMay").id();
+        UUID later = playRounds(gameService.startNewGame("RichardHammond").id(), WORD_5, WORD_6, WORD_7);
+        gameService.makeGuess(first, new GuessRequest("kroke"));
+        registry().flush();
+
+        assertEquals(statementsFor(first), statementsFor(later));
+    }
+
+    @Test
+    @DisplayName("Past rounds are paged from the store and from memory alike")
+    void pastRoundsArePaged() {
+        UUID gameId = playRounds(gameService.startNewGame("JamesMay").id(), WORD_5, WORD_6);
+        registry().flush();
+        gameService.makeGuess(gameId, new GuessRequest(WORD_7));
+        gameService.startNewRound(gameId);
+
+        RoundHistoryResponse page = gameService.getPastRounds(gameId, 0, 2);
+        assertEquals(List.of(WORD_5, WORD_6), targetWords(page));
+        assertEquals(List.of(WORD_7), targetWords(gameService.getPastRounds(gameId, page.next(), 2)));
+
+        registry().flush();
+
+        assertEquals(List.of(WORD_5, WORD_6, WORD_7), targetWords(gameService.getPastRounds(gameId, 0, 10)));
+        // The three past rounds and the current one, each written once
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rounds", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Every save changes the version, written or not")
+    void saveChangesVersion() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        String started = gameService.getGameVersion(gameId);
+
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+        String guessed = gameService.getGameVersion(gameId);
+        registry().flush();
+
+        assertNotEquals(started, guessed);
+        assertEquals(guessed, gameService.getGameVersion(gameId));
+    }
+
+    @Test
+    @DisplayName("Saving an outdated copy of a game is rejected")
+    void outdatedCopyIsRejected() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        Game first = gameStore.findById(gameId).orElseThrow();
+        Game second = gameStore.findById(gameId).orElseThrow();
+
+        first.guess("kroke", dictionary);
+        gameStore.save(first);
+        second.guess("kroke", dictionary);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> gameStore.save(second));
+    }
+
+    @Test
+    @DisplayName("A guess whose transaction rolls back is run again on the game as it was")
+    void rolledBackGuessIsRetriedAfresh() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        failingScoreListener.failures.set(1);
+
+        GuessResponse response = gameService.makeGuess(gameId, new GuessRequest(WORD_5));
+
+        assertEquals(25, response.gameState().score());
+        assertEquals(1, gameService.getGame(gameId).currentRound().attempts().size());
+        assertEquals(1, scoreEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("A staged guess is only seen by its own transaction until it commits")
+    void stagedGuessIsPrivate() {
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+
+        transactions.executeWithoutResult(status -> {
+            Game game = gameStore.findById(gameId).orElseThrow();
+            game.guess("kroke", dictionary);
+            gameStore.save(game);
+
+            assertEquals(1, gameStore.findById(gameId).orElseThrow().getCurrentRound().getAttemptsUsed());
+            Game outside = CompletableFuture.supplyAsync(() -> gameStore.findById(gameId).orElseThrow()).join();
+            assertEquals(0, outside.getCurrentRound().getAttemptsUsed());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, gameStore.findById(gameId).orElseThrow().getCurrentRound().getAttemptsUsed());
+    }
+
+    @Test
+    @DisplayName("Games are written as soon as their round ends when asked to")
+    void roundEndIsWrittenRightAway() {
+        WriteBehindGameStore store = store(WriteBehindGameStore.Durability.ROUND_END, 10);
+        UUID gameId = gameService.startNewGame("JamesMay").id();
+
+        Game game = store.findById(gameId).orElseThrow();
+        game.guess("kroke", dictionary);
+        game = store.save(game);
+        assertEquals(0, feedbackRows());
+
+        game.guess(WORD_5, dictionary);
+        store.save(game);
+        assertEquals(2, feedbackRows());
+    }
+
+    @Test
+    @DisplayName("Written games beyond the capacity are dropped")
+    void leastRecentlyUsedAreDropped() {
+        WriteBehindGameStore store = store(WriteBehindGameStore.Durability.INTERVAL, 1);
+        UUID first = gameService.startNewGame("JamesMay").id();
+        UUID second = gameService.startNewGame("RichardHammond").id();
+
+        Game game = store.findById(first).orElseThrow();
+        game.guess("kroke", dictionary);
+        store.save(game);
+        store.findById(second);
+        store.flush();
+
+        assertEquals(1, store.size());
+        assertEquals(1, feedbackRows());
+        assertEquals(1, store.findById(first).orElseThrow().getCurrentRound().getAttemptsUsed());
+    }
+
+    /**
+     * Fails the transaction of a score change after the game was saved, as
+     * a concurrent change found later in the same transaction would.
+     */
+    @TestConfiguration
+    static class FailingScoreListener {
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @EventListener
+        public void onScoreChanged(ScoreChanged event) {
+            if (failures.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                throw new OptimisticLockingFailureException("score of game " + event.gameId() + " changed concurrently");
+            }
+        }
+    }
+
+    private WriteBehindGameStore registry() {
+        return (WriteBehindGameStore) gameStore;
+    }
+
+    private WriteBehindGameStore store(WriteBehindGameStore.Durability durability, int capacity) {
+        return new WriteBehindGameStore(
+            new JpaGameStore(gameRepository, roundRepository, entityManager, new ScoreVersions(scoreVersionRepository, true)),
+            new TransactionTemplate(transactionManager),
+            durability,
+            capacity,
+            Duration.ofMinutes(10),
+            100,
+            Clock.systemUTC()
+        );
+    }
+
+    private UUID playRounds(UUID gameId, String... words) {
+        for (String word : words) {
+            gameService.makeGuess(gameId, new GuessRequest(word));
+            gameService.startNewRound(gameId);
+        }
+        return gameId;
+    }
+
+    private long statementsFor(UUID gameId) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        gameService.makeGuess(gameId, new GuessRequest("kroke"));
+        registry().flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static List<String> targetWords(RoundHistoryResponse page) {
+        return page.rounds().stream().map(RoundResponse::targetWord).toList();
+    }
+
+    private int feedbackRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM feedback", Integer.class);
+    }
+}
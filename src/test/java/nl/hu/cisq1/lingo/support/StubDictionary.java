@@ -0,0 +1,28 @@
+package nl.hu.cisq1.lingo.support;
+
+import nl.hu.cisq1.lingo.domain.Dictionary;
+
+/**
+ * A dictionary that knows every word, or none, and always draws "bruhh".
+ */
+public class StubDictionary implements Dictionary {
+    private final boolean existsResult;
+
+    public StubDictionary() {
+        this(true);
+    }
+
+    public StubDictionary(boolean existsResult) {
+        this.existsResult = existsResult;
+    }
+
+    @Override
+    public boolean exists(String word) {
+        return existsResult;
+    }
+
+    @Override
+    public String randomWord(int length) {
+        return "bruhh";
+    }
+}
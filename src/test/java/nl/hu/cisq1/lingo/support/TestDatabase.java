@@ -0,0 +1,76 @@
+package nl.hu.cisq1.lingo.support;
+
+import nl.hu.cisq1.lingo.application.GameViews;
+import nl.hu.cisq1.lingo.repository.EventSnapshotRepository;
+import nl.hu.cisq1.lingo.repository.GameRepository;
+import nl.hu.cisq1.lingo.repository.GameStore;
+import nl.hu.cisq1.lingo.repository.ScoreEventRepository;
+import nl.hu.cisq1.lingo.repository.StoredEventRepository;
+import nl.hu.cisq1.lingo.repository.StoredGameRepository;
+import nl.hu.cisq1.lingo.repository.StoredGameViewRepository;
+import nl.hu.cisq1.lingo.repository.WriteBehindGameStore;
+import nl.hu.cisq1.lingo.words.data.WordRepository;
+import nl.hu.cisq1.lingo.words.domain.Word;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.Arrays;
+
+/**
+ * Resets the test database before every test, whichever way games are
+ * stored. Import it into a Spring Boot test and call {@link #reset} from
+ * its set-up.
+ */
+@TestComponent
+public class TestDatabase {
+    private final GameStore gameStore;
+    private final GameViews gameViews;
+    private final StoredGameViewRepository viewRepository;
+    private final ScoreEventRepository scoreEventRepository;
+    private final GameRepository gameRepository;
+    private final StoredGameRepository storedGameRepository;
+    private final StoredEventRepository storedEventRepository;
+    private final EventSnapshotRepository eventSnapshotRepository;
+    private final WordRepository wordRepository;
+
+    public TestDatabase(
+            GameStore gameStore,
+            GameViews gameViews,
+            StoredGameViewRepository viewRepository,
+            ScoreEventRepository scoreEventRepository,
+            GameRepository gameRepository,
+            StoredGameRepository storedGameRepository,
+            StoredEventRepository storedEventRepository,
+            EventSnapshotRepository eventSnapshotRepository,
+            WordRepository wordRepository) {
+        this.gameStore = gameStore;
+        this.gameViews = gameViews;
+        this.viewRepository = viewRepository;
+        this.scoreEventRepository = scoreEventRepository;
+        this.gameRepository = gameRepository;
+        this.storedGameRepository = storedGameRepository;
+        this.storedEventRepository = storedEventRepository;
+        this.eventSnapshotRepository = eventSnapshotRepository;
+        this.wordRepository = wordRepository;
+    }
+
+    /**
+     * Deletes every game, with its views and score events, and leaves only
+     * the given words in the dictionary.
+     */
+    public void reset(String... words) {
+        // Games and views changed by an earlier test are written before they are deleted
+        if (gameStore instanceof WriteBehindGameStore writeBehind) {
+            writeBehind.flush();
+        }
+        gameViews.flush();
+
+        viewRepository.deleteAll();
+        scoreEventRepository.deleteAll();
+        gameRepository.deleteAll();
+        storedGameRepository.deleteAll();
+        storedEventRepository.deleteAll();
+        eventSnapshotRepository.deleteAll();
+        wordRepository.deleteAll();
+        wordRepository.saveAll(Arrays.stream(words).map(Word::new).toList());
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -31,7 +32,7 @@ class WordServiceTest {
         when(mockRepository.findRandomWordByLength(anyInt()))
                 .thenReturn(Optional.empty());
 
-        WordService service = new WordService(mockRepository);
+        WordService service = new WordService(mockRepository, "database");
 
         assertThrows(
                 WordLengthNotSupportedException.class,
@@ -45,7 +46,7 @@ class WordServiceTest {
         WordRepository mockRepository = mock(WordRepository.class);
         when(mockRepository.existsById("groep")).thenReturn(true);
 
-        WordService service = new WordService(mockRepository);
+        WordService service = new WordService(mockRepository, "database");
         boolean result = service.wordExists("groep");
 
         assertTrue(result);
@@ -56,12 +57,26 @@ class WordServiceTest {
     void wordDoesNotExist() {
         WordRepository mockRepository = mock(WordRepository.class);
 
-        WordService service = new WordService(mockRepository);
+        WordService service = new WordService(mockRepository, "database");
         boolean result = service.wordExists("groep");
 
         assertFalse(result);
     }
 
+    @Test
+    @DisplayName("loads a snapshot of all words")
+    void loadsSnapshot() {
+        WordRepository mockRepository = mock(WordRepository.class);
+        when(mockRepository.findAllValues()).thenReturn(List.of("groep", "school"));
+
+        WordService service = new WordService(mockRepository, "database");
+        var snapshot = service.loadSnapshot();
+
+        assertTrue(snapshot.contains("groep"));
+        assertTrue(snapshot.contains("school"));
+        assertEquals(2, snapshot.size());
+    }
+
     @ParameterizedTest
     @DisplayName("requests a random word of a specified length from the repository")
     @MethodSource("randomWordExamples")
@@ -70,10 +85,76 @@ class WordServiceTest {
         when(mockRepository.findRandomWordByLength(wordLength))
                 .thenReturn(Optional.of(new Word(word)));
 
-        WordService service = new WordService(mockRepository);
+        WordService service = new WordService(mockRepository, "database");
+        String result = service.provideRandomWord(wordLength);
+
+        assertEquals(word, result);
+    }
+
+    @Test
+    @DisplayName("lists all words")
+    void listsAllWords() {
+        WordRepository mockRepository = mock(WordRepository.class);
+        when(mockRepository.findAllValues()).thenReturn(List.of("groep", "school"));
+
+        WordService service = new WordService(mockRepository, "database");
+
+        assertEquals(List.of("groep", "school"), service.allWords());
+    }
+
+    @ParameterizedTest
+    @DisplayName("draws a random word of a specified length from memory")
+    @MethodSource("randomWordExamples")
+    void providesRandomWordFromMemory(int wordLength, String word) {
+        WordRepository mockRepository = mock(WordRepository.class);
+        when(mockRepository.findAllValues()).thenReturn(List.of(word));
+
+        WordService service = new WordService(mockRepository, "memory");
         String result = service.provideRandomWord(wordLength);
 
         assertEquals(word, result);
+        verify(mockRepository, never()).findRandomWordByLength(anyInt());
+    }
+
+    @Test
+    @DisplayName("throws exception if length not supported in memory")
+    void unsupportedLengthInMemory() {
+        WordRepository mockRepository = mock(WordRepository.class);
+        when(mockRepository.findAllValues()).thenReturn(List.of("groep"));
+
+        WordService service = new WordService(mockRepository, "memory");
+
+        assertThrows(
+                WordLengthNotSupportedException.class,
+                () -> service.provideRandomWord(6)
+        );
+    }
+
+    @Test
+    @DisplayName("loads the shared snapshot only once")
+    void loadsSharedSnapshotOnce() {
+        WordRepository mockRepository = mock(WordRepository.class);
+        when(mockRepository.findAllValues()).thenReturn(List.of("groep"));
+
+        WordService service = new WordService(mockRepository, "memory");
+        service.loadForSampling();
+        verify(mockRepository).findAllValues();
+        service.provideRandomWord(5);
+        service.provideRandomWord(5);
+
+        assertSame(service.snapshot(), service.snapshot());
+        verify(mockRepository, times(1)).findAllValues();
+    }
+
+    @Test
+    @DisplayName("rejects unknown sampling mode")
+    void unknownSamplingMode() {
+        WordRepository mockRepository = mock(WordRepository.class);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> new WordService(mockRepository, "magic")
+        );
     }
 
     static Stream<Arguments> randomWordExamples() {
@@ -0,0 +1,144 @@
+package nl.hu.cisq1.lingo.words.data;
+
+import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLexiconTest {
+    private static final List<String> WORDS = List.of("groep", "bruhh", "school", "student", "groep", "Groot", "café");
+
+    @TempDir
+    Path directory;
+
+    private MappedLexicon lexicon;
+
+    @BeforeEach
+    void compileLexicon() throws IOException {
+        Path file = directory.resolve("lingo.lex");
+        LexiconCompiler.compile(WORDS, file);
+        lexicon = MappedLexicon.open(file);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"groep", "bruhh", "school", "student"})
+    @DisplayName("contains every compiled word")
+    void containsCompiledWords(String word) {
+        assertTrue(lexicon.contains(word));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"groet", "aaaaa", "zzzzz", "Groot", "café", "scholen", ""})
+    @DisplayName("does not contain words that were not compiled")
+    void doesNotContainOtherWords(String word) {
+        assertFalse(lexicon.contains(word));
+    }
+
+    @Test
+    @DisplayName("duplicates and unsupported words are skipped")
+    void bucketsPerLength() {
+        assertEquals(2, lexicon.size(5));
+        assertEquals(1, lexicon.size(6));
+        assertEquals(1, lexicon.size(7));
+        assertEquals(0, lexicon.size(8));
+        assertEquals(0, lexicon.size(1000));
+        assertFalse(lexicon.contains(null));
+    }
+
+    @Test
+    @DisplayName("random words are drawn from the requested length")
+    void randomWordCoversBucket() {
+        Random random = new Random(42);
+        Set<String> drawn = new HashSet<>();
+
+        for (int i = 0; i < 100; i++) {
+            drawn.add(lexicon.randomWord(5, random));
+        }
+
+        assertEquals(Set.of("groep", "bruhh"), drawn);
+        assertEquals("student", lexicon.randomWord(7, random));
+    }
+
+    @Test
+    @DisplayName("drawing from an empty length throws exception")
+    void randomWordThrowsForEmptyLength() {
+        assertThrows(WordLengthNotSupportedException.class, () -> lexicon.randomWord(8, new Random()));
+    }
+
+    @Test
+    @DisplayName("rejects files that are not a lexicon")
+    void rejectsForeignFiles() throws IOException {
+        Path file = directory.resolve("words.sql");
+        Files.writeString(file, "CREATE TABLE words (word varchar(16));");
+
+        assertThrows(IllegalStateException.class, () -> MappedLexicon.open(file));
+    }
+
+    @Test
+    @DisplayName("rejects lexicons of another version")
+    void rejectsOtherVersions() throws IOException {
+        Path file = directory.resolve("future.lex");
+        Files.write(file, ByteBuffer.allocate(12)
+            .putInt(MappedLexicon.MAGIC)
+            .putInt(MappedLexicon.VERSION + 1)
+            .putInt(0)
+            .array());
+
+        assertThrows(IllegalStateException.class, () -> MappedLexicon.open(file));
+    }
+
+    @Test
+    @DisplayName("rejects lexicons cut off within the words")
+    void rejectsTruncatedFiles() throws IOException {
+        Path file = directory.resolve("lingo.lex");
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = directory.resolve("truncated.lex");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IllegalStateException.class, () -> MappedLexicon.open(truncated));
+    }
+
+    @Test
+    @DisplayName("rejects lexicons with a bucket of an unsupported length")
+    void rejectsUnsupportedLengths() throws IOException {
+        Path file = directory.resolve("corrupt.lex");
+        Files.write(file, ByteBuffer.allocate(24)
+            .putInt(MappedLexicon.MAGIC)
+            .putInt(MappedLexicon.VERSION)
+            .putInt(1)
+            .putInt(MappedLexicon.MAX_LENGTH + 1)
+            .putInt(0)
+            .putInt(24)
+            .array());
+
+        assertThrows(IllegalStateException.class, () -> MappedLexicon.open(file));
+    }
+
+    @Test
+    @DisplayName("rejects lexicons whose bucket headers are cut off")
+    void rejectsTruncatedHeaders() throws IOException {
+        Path file = directory.resolve("headers.lex");
+        Files.write(file, ByteBuffer.allocate(12)
+            .putInt(MappedLexicon.MAGIC)
+            .putInt(MappedLexicon.VERSION)
+            .putInt(3)
+            .array());
+
+        assertThrows(IllegalStateException.class, () -> MappedLexicon.open(file));
+    }
+}
@@ -0,0 +1,83 @@
+package nl.hu.cisq1.lingo.words.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("never rejects a word that was added")
+    void noFalseNegatives() {
+        List<String> words = randomWords(new Random(1), 5000);
+        BloomFilter filter = BloomFilter.of(words, 0.01);
+
+        assertTrue(words.stream().allMatch(filter::mightContain));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.1, 0.01, 0.001})
+    @DisplayName("false positives stay close to the configured rate")
+    void falsePositiveRateIsTunable(double falsePositiveRate) {
+        BloomFilter filter = BloomFilter.of(randomWords(new Random(1), 5000), falsePositiveRate);
+        List<String> others = randomWords(new Random(2), 20000, 'z');
+
+        long falsePositives = others.stream().filter(filter::mightContain).count();
+
+        assertTrue(falsePositives < others.size() * falsePositiveRate * 2,
+            falsePositives + " false positives at rate " + falsePositiveRate);
+    }
+
+    @Test
+    @DisplayName("a lower false-positive rate uses more bits and hashes")
+    void sizingFollowsRate() {
+        List<String> words = randomWords(new Random(1), 1000);
+
+        BloomFilter loose = BloomFilter.of(words, 0.1);
+        BloomFilter strict = BloomFilter.of(words, 0.001);
+
+        assertTrue(strict.bitCount() > loose.bitCount());
+        assertTrue(strict.hashCount() > loose.hashCount());
+    }
+
+    @Test
+    @DisplayName("an empty filter rejects everything")
+    void emptyFilterRejects() {
+        BloomFilter filter = BloomFilter.of(List.of(), 0.01);
+
+        assertFalse(filter.mightContain("groep"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, 1, -0.5, 2})
+    @DisplayName("rejects impossible false-positive rates")
+    void rejectsInvalidRates(double falsePositiveRate) {
+        List<String> words = List.of("groep");
+
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.of(words, falsePositiveRate));
+    }
+
+    // Added words start with an 'a' and probes with a 'z', so they never overlap
+    private static List<String> randomWords(Random random, int count) {
+        return randomWords(random, count, 'a');
+    }
+
+    private static List<String> randomWords(Random random, int count, char first) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder().append(first);
+            for (int j = 0; j < 5; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+}
@@ -0,0 +1,104 @@
+package nl.hu.cisq1.lingo.words.domain;
+
+import nl.hu.cisq1.lingo.words.domain.exception.WordLengthNotSupportedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordSnapshotTest {
+    private static final WordSnapshot SNAPSHOT = WordSnapshot.of(List.of("groep", "school", "student", "bruhh"));
+
+    @ParameterizedTest
+    @ValueSource(strings = {"groep", "school", "student", "bruhh"})
+    @DisplayName("contains every loaded word")
+    void containsLoadedWords(String word) {
+        assertTrue(SNAPSHOT.contains(word));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"groet", "scholen", "goner", "GROEP", "gro3p", "", "aaaaaaaaaaaaa"})
+    @DisplayName("does not contain words that were not loaded")
+    void doesNotContainOtherWords(String word) {
+        assertFalse(SNAPSHOT.contains(word));
+    }
+
+    @Test
+    @DisplayName("null is never contained")
+    void doesNotContainNull() {
+        assertFalse(SNAPSHOT.contains(null));
+    }
+
+    @Test
+    @DisplayName("words are bucketed per length")
+    void bucketsPerLength() {
+        assertEquals(2, SNAPSHOT.size(5));
+        assertEquals(1, SNAPSHOT.size(6));
+        assertEquals(1, SNAPSHOT.size(7));
+        assertEquals(0, SNAPSHOT.size(8));
+        assertEquals(0, SNAPSHOT.size(-1));
+        assertEquals(4, SNAPSHOT.size());
+    }
+
+    @Test
+    @DisplayName("duplicates and unsupported words are skipped")
+    void skipsDuplicatesAndUnsupportedWords() {
+        WordSnapshot snapshot = WordSnapshot.of(List.of("groep", "groep", "Groep", "café", "aaaaaaaaaaaaa"));
+
+        assertEquals(1, snapshot.size());
+        assertTrue(snapshot.contains("groep"));
+    }
+
+    @Test
+    @DisplayName("random words are drawn from the requested length only")
+    void randomWordHasRequestedLength() {
+        Random random = new Random(42);
+
+        assertEquals("school", SNAPSHOT.randomWord(6, random));
+        assertEquals("student", SNAPSHOT.randomWord(7, random));
+    }
+
+    @Test
+    @DisplayName("every word of a length can be drawn")
+    void randomWordCoversBucket() {
+        Random random = new Random(42);
+        Set<String> drawn = new HashSet<>();
+
+        for (int i = 0; i < 100; i++) {
+            drawn.add(SNAPSHOT.randomWord(5, random));
+        }
+
+        assertEquals(Set.of("groep", "bruhh"), drawn);
+    }
+
+    @Test
+    @DisplayName("drawing from an empty length throws exception")
+    void randomWordThrowsForEmptyLength() {
+        Random random = new Random(42);
+
+        assertThrows(WordLengthNotSupportedException.class, () -> SNAPSHOT.randomWord(8, random));
+        assertThrows(WordLengthNotSupportedException.class, () -> SNAPSHOT.randomWord(40, random));
+    }
+
+    @Test
+    @DisplayName("packed keys unpack to the original word")
+    void packedKeysRoundTrip() {
+        assertEquals("student", WordSnapshot.unpack(WordSnapshot.pack("student"), 7));
+        assertEquals("zzzzzzzzzzzz", WordSnapshot.unpack(WordSnapshot.pack("zzzzzzzzzzzz"), 12));
+    }
+
+    @Test
+    @DisplayName("packed keys preserve alphabetical order")
+    void packedKeysAreOrdered() {
+        assertTrue(WordSnapshot.pack("aagje") < WordSnapshot.pack("aaien"));
+        assertTrue(WordSnapshot.pack("zzzzy") < WordSnapshot.pack("zzzzz"));
+        assertEquals(-1, WordSnapshot.pack("Hallo"));
+    }
+}